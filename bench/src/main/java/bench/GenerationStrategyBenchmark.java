@@ -0,0 +1,53 @@
+package bench;
+
+import model.generator.GenerationStrategy;
+import model.generator.GeneratorType;
+import model.maze.Maze;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Throughput of every GenerationStrategy, across a sweep of sizes up to 10^4 per side. The cells counter reports the
+// cells generated per second, which can be compared across sizes; gc.alloc.rate.norm (from the GC profiler that
+// BenchmarkRunner enables) is the memory each strategy allocates per maze, including the Maze itself (size^2 / 8
+// bytes). Wilson's algorithm takes minutes per maze at the largest size, so restrict the sweep when comparing the
+// others, ex. -p generator=KRUSKAL,PRIM -p size=10001
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GenerationStrategyBenchmark {
+
+    @Param({"DFS", "KRUSKAL", "PRIM", "WILSON", "SIDEWINDER", "BINARY_TREE", "GROWING_TREE", "ELLER", "TILED"})
+    public String generator;
+
+    @Param({"101", "1001", "10001"})
+    public int size;
+
+    private GenerationStrategy strategy;
+
+    // the number of cells generated; reported as a rate, like the score
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Cells {
+        public long cells;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cells = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        strategy = GeneratorType.fromName(generator).create(size, 42);
+    }
+
+    @Benchmark
+    public Maze generateMaze(Cells counter) {
+        counter.cells += (long) size * size;
+        return strategy.generateMaze(new Maze(size));
+    }
+}
@@ -0,0 +1,32 @@
+package bench;
+
+import model.generator.MazeGenerator;
+import model.maze.Maze;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Time to generate a maze with MazeGenerator, across a sweep of sizes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"21", "101", "501", "1001"})
+    public int size;
+
+    private MazeGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = new MazeGenerator(size, 42);
+    }
+
+    @Benchmark
+    public Maze generateMaze() {
+        return generator.generateMaze();
+    }
+}
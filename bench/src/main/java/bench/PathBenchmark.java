@@ -0,0 +1,88 @@
+package bench;
+
+import model.moveable.Move;
+import model.path.Path;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of building a Path node by node, and of membership tests and node lookups on a long path; the path snakes
+// back and forth across rows of width length / 10 so that it never revisits a position
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100", "10000", "1000000"})
+    public int length;
+
+    private Move[] moves;
+    private Path path;
+    private int[] queryXs;
+    private int[] queryYs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int width = Math.max(length / 10, 2);
+        moves = new Move[length - 1];
+        for (int i = 0; i < moves.length; i++) {
+            int column = (i + 1) % width;
+            boolean leftToRight = ((i + 1) / width) % 2 == 0;
+            moves[i] = column == 0 ? Move.DOWN : leftToRight ? Move.RIGHT : Move.LEFT;
+        }
+        path = build();
+
+        // half of the queries are on the path, half are not
+        Random random = new Random(42);
+        queryXs = new int[QUERIES];
+        queryYs = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryXs[i] = 1 + random.nextInt(width);
+            queryYs[i] = 1 + random.nextInt(2 * (length / width + 1));
+        }
+    }
+
+    // EFFECTS: produces a path made by adding every move in moves
+    private Path build() {
+        Path p = new Path();
+        for (Move move : moves) {
+            p.addNode(move);
+        }
+        return p;
+    }
+
+    @Benchmark
+    public Path addNode() {
+        return build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int containsNode() {
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (path.containsNode(queryXs[i], queryYs[i])) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int getNode() {
+        int sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            if (path.containsNode(queryXs[i], queryYs[i])) {
+                sum += path.getNode(queryXs[i], queryYs[i]).getPosX();
+            }
+        }
+        return sum;
+    }
+}
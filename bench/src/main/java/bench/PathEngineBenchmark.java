@@ -0,0 +1,45 @@
+package bench;
+
+import model.generator.MazeGenerator;
+import model.maze.Maze;
+import model.path.Path;
+import model.path.PathEngine;
+import model.solver.backtracker.Backtracker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of PathEngine.addPath while replaying an animated Backtracker solve, which is how the UI uses it: the same Path
+// is added after every tick. The solve itself is measured by SolverBenchmark; subtract its BACKTRACKER score for the
+// cost of the diffs alone
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathEngineBenchmark {
+
+    @Param({"21", "101", "501"})
+    public int size;
+
+    private Maze maze;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = new MazeGenerator(size, 42).generateMaze();
+        maze.setOpenDirectionsCached(true);
+    }
+
+    @Benchmark
+    public PathEngine replaySolve(Blackhole blackhole) {
+        PathEngine engine = new PathEngine();
+        for (Path p : new Backtracker(maze)) {
+            engine.addPath(p);
+            blackhole.consume(engine.getToWipe());
+            blackhole.consume(engine.getToPlace());
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,62 @@
+package bench;
+
+import model.generator.MazeGenerator;
+import model.maze.Maze;
+import model.moveable.Player;
+import org.openjdk.jmh.annotations.*;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Cost of saving a maze (and player) with JsonWriter and loading it back with JsonReader, across a sweep of sizes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"21", "101", "501", "1001"})
+    public int size;
+
+    private Maze maze;
+    private Player player;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        maze = new MazeGenerator(size, 42).generateMaze();
+        player = new Player(maze);
+        file = File.createTempFile("maze", ".json");
+        file.deleteOnExit();
+        write();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public File write() throws IOException {
+        JsonWriter writer = new JsonWriter(file.getPath());
+        writer.write(maze, player);
+        writer.close();
+        return file;
+    }
+
+    @Benchmark
+    public Maze read() throws IOException {
+        return new JsonReader(file.getPath()).readMaze();
+    }
+
+    @Benchmark
+    public Maze roundTrip() throws IOException {
+        write();
+        return read();
+    }
+}
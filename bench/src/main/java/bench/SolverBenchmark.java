@@ -0,0 +1,46 @@
+package bench;
+
+import model.generator.MazeGenerator;
+import model.maze.Maze;
+import model.path.Path;
+import model.solver.MazeSolver;
+import model.solver.SolverType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Time for each solver to solve a maze completely (every tick), across a sweep of sizes; the maze is fixed for a trial
+// so that solvers are compared on the same input
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"21", "101", "501", "1001"})
+    public int size;
+
+    @Param({"ASTAR", "BACKTRACKER"})
+    public SolverType solver;
+
+    private Maze maze;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        maze = new MazeGenerator(size, 42).generateMaze();
+        // as in the game, where every maze that is played or solved caches its open directions
+        maze.setOpenDirectionsCached(true);
+    }
+
+    @Benchmark
+    public Path solve(Blackhole blackhole) {
+        MazeSolver mazeSolver = solver.create(maze);
+        for (Path p : mazeSolver) {
+            blackhole.consume(p);
+        }
+        return mazeSolver.getPath();
+    }
+}
@@ -0,0 +1,29 @@
+package model.generator;
+
+// Generates mazes with the Binary Tree algorithm: every vertex is joined to the vertex above it or the one to its left,
+// at random (along the top row and left column there is only one choice). Like Sidewinder, it needs no memory beyond
+// the maze, but its mazes are strongly biased: there are corridors along the top and left, and every path to the
+// start runs up and to the left
+public class BinaryTreeGenerator extends GridGenerator {
+
+    // EFFECTS: initialize a generator with a random seed
+    public BinaryTreeGenerator() {
+        super();
+    }
+
+    // EFFECTS: initialize a generator with a fixed seed, so that the sequence of generated mazes is reproducible
+    public BinaryTreeGenerator(long seed) {
+        super(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a random spanning tree of the vertices
+    @Override
+    protected void carve() {
+        for (int v = 1; v < vertices * vertices; v++) {
+            boolean top = v < vertices;
+            boolean left = v % vertices == 0;
+            carveEdge(v, top || (!left && random.nextBoolean()) ? LEFT : UP);
+        }
+    }
+}
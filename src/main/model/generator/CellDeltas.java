@@ -0,0 +1,49 @@
+package model.generator;
+
+// A growable list of cells, kept as pairs of primitive coordinates, that a StepwiseGenerator fills with the cells that
+// a batch of steps set to PATH; clear it between batches and reuse it, so that stepping allocates nothing once the list
+// has grown to the size of a batch
+public class CellDeltas {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // coords[2 * i] and coords[2 * i + 1] are the x and y of cell i
+    private int[] coords = new int[2 * INITIAL_CAPACITY];
+    private int size;
+
+    // EFFECTS: produce the number of cells in the list
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: i must be in the range [0, size() - 1]
+    // EFFECTS: produce the x coordinate of cell i
+    public int getX(int i) {
+        return coords[2 * i];
+    }
+
+    // REQUIRES: i must be in the range [0, size() - 1]
+    // EFFECTS: produce the y coordinate of cell i
+    public int getY(int i) {
+        return coords[2 * i + 1];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends cell (x, y) to the list, growing it if it is full
+    public void add(int x, int y) {
+        if (2 * size == coords.length) {
+            int[] grown = new int[coords.length * 2];
+            System.arraycopy(coords, 0, grown, 0, coords.length);
+            coords = grown;
+        }
+        coords[2 * size] = x;
+        coords[2 * size + 1] = y;
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties the list, keeping its capacity
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,189 @@
+package model.generator;
+
+import model.maze.ImmutableMaze;
+import model.maze.Maze;
+import model.maze.MutableMaze;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Generates randomized perfect Mazes one row at a time with Eller's algorithm, handing each row of cells to a RowSink
+// as soon as it is complete. Only the current row of vertices (see MazeGenerator) is remembered, each labelled with
+// the set of vertices it is connected to through the rows above, so the generator needs O(size) memory however large
+// the maze is; a maze bigger than memory can be streamed straight to a file (see persistence.JsonStreamWriter). For
+// each row of vertices:
+//   1. neighbours in different sets are joined at random (every such pair is joined in the last row);
+//   2. every set is extended down into the next row at one or more random vertices, and vertices that were not
+//      extended down start sets of their own.
+// Vertices are only ever joined when they are in different sets, and no set is dropped before the last row joins them
+// all, so the result is a perfect maze with a path from (1, 1) to (size - 2, size - 2).
+public class EllerMazeGenerator implements GenerationStrategy {
+
+    private final int size;
+    private final Random random;
+    private int vertices;
+    // label[vx] is the set of vertex vx of the current row; sets are ids in [0, vertices), merged with a union-find
+    // forest (parent) that is rebuilt for every row
+    private int[] label;
+    private int[] parent;
+    // per set: the number of its vertices seen so far, the vertex chosen to be extended down if no other is, and
+    // whether any vertex has been extended down; then the set's label in the next row (-1 if not yet assigned)
+    private int[] count;
+    private int[] chosen;
+    private boolean[] extended;
+    private int[] relabel;
+    // down[vx] is true if vertex vx of the current row is joined to the vertex below it
+    private boolean[] down;
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // EFFECTS: initialize a generator of mazes of given size with a random seed
+    public EllerMazeGenerator(int size) {
+        this(size, new Random().nextLong());
+    }
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // EFFECTS: initialize a generator of mazes of given size; the same seed always produces the same maze
+    public EllerMazeGenerator(int size, long seed) {
+        this.size = size;
+        random = new Random(seed);
+    }
+
+    // REQUIRES: size * size must not exceed Integer.MAX_VALUE
+    // MODIFIES: this
+    // EFFECTS: produce a square maze with the generator's side-length
+    public Maze generateMaze() {
+        return generateMaze(new Maze(size));
+    }
+
+    // REQUIRES: maze must be full of WALL and its size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this, maze
+    // EFFECTS: carves a random perfect maze into given maze and produces it
+    @Override
+    public <T extends MutableMaze> T generateMaze(T maze) {
+        generate(maze.getSize(), (y, row) -> {
+            for (int word = 0; word < row.length; word++) {
+                for (long bits = row[word]; bits != 0; bits &= bits - 1) {
+                    maze.setCell(word * ImmutableMaze.WORD_LENGTH + Long.numberOfTrailingZeros(bits), y, Maze.PATH);
+                }
+            }
+        });
+        return maze;
+    }
+
+    // MODIFIES: this, sink
+    // EFFECTS: generates a random perfect maze of the generator's size, giving each of its rows to sink in order
+    public void generate(RowSink sink) {
+        generate(size, sink);
+    }
+
+    // MODIFIES: this, sink
+    // EFFECTS: generates a random perfect maze of given size, giving each of its rows to sink in order
+    private void generate(int size, RowSink sink) {
+        vertices = (size - 1) / 2;
+        label = new int[vertices];
+        parent = new int[vertices];
+        count = new int[vertices];
+        chosen = new int[vertices];
+        extended = new boolean[vertices];
+        relabel = new int[vertices];
+        down = new boolean[vertices];
+        for (int vx = 0; vx < vertices; vx++) {
+            label[vx] = vx;
+        }
+
+        long[] row = new long[(size + ImmutableMaze.WORD_LENGTH - 1) / ImmutableMaze.WORD_LENGTH];
+        sink.acceptRow(0, row);
+        for (int vy = 0; vy < vertices; vy++) {
+            boolean last = vy == vertices - 1;
+            Arrays.fill(row, 0);
+            joinAcross(row, last);
+            sink.acceptRow(2 * vy + 1, row);
+            Arrays.fill(row, 0);
+            if (!last) {
+                extendDown(row);
+            }
+            sink.acceptRow(2 * vy + 2, row);
+        }
+    }
+
+    // MODIFIES: this, row
+    // EFFECTS: carves the vertices of the current row into row, and joins neighbours in different sets at random (or
+    //          always, if last), carving the edge between them
+    private void joinAcross(long[] row, boolean last) {
+        for (int id = 0; id < vertices; id++) {
+            parent[id] = id;
+        }
+        setPath(row, 1);
+        for (int vx = 0; vx + 1 < vertices; vx++) {
+            int left = find(label[vx]);
+            int right = find(label[vx + 1]);
+            if (left != right && (last || random.nextBoolean())) {
+                parent[left] = right;
+                setPath(row, 2 * vx + 2);
+            }
+            setPath(row, 2 * vx + 3);
+        }
+    }
+
+    // MODIFIES: this, row
+    // EFFECTS: extends every set of the current row down at one or more random vertices, carving the edges below them
+    //          into row, and labels the vertices of the next row
+    private void extendDown(long[] row) {
+        for (int vx = 0; vx < vertices; vx++) {
+            int set = find(label[vx]);
+            label[vx] = set;
+            count[set] = 0;
+            extended[set] = false;
+            relabel[set] = -1;
+        }
+        for (int vx = 0; vx < vertices; vx++) {
+            int set = label[vx];
+            // reservoir sampling, so that chosen[set] is a uniformly random vertex of the set
+            if (random.nextInt(++count[set]) == 0) {
+                chosen[set] = vx;
+            }
+            down[vx] = random.nextBoolean();
+            extended[set] |= down[vx];
+        }
+        for (int vx = 0; vx < vertices; vx++) {
+            down[vx] |= !extended[label[vx]] && chosen[label[vx]] == vx;
+        }
+        relabelNextRow(row);
+    }
+
+    // MODIFIES: this, row
+    // EFFECTS: carves the edges below the vertices that were extended down into row; those vertices keep a set per
+    //          set of the current row, while each of the others starts a set of its own
+    private void relabelNextRow(long[] row) {
+        int next = 0;
+        for (int vx = 0; vx < vertices; vx++) {
+            if (!down[vx]) {
+                continue;
+            }
+            setPath(row, 2 * vx + 1);
+            int set = label[vx];
+            if (relabel[set] == -1) {
+                relabel[set] = next++;
+            }
+        }
+        for (int vx = 0; vx < vertices; vx++) {
+            label[vx] = down[vx] ? relabel[label[vx]] : next++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produces the set that id belongs to, halving the paths to it along the way
+    private int find(int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    // MODIFIES: row
+    // EFFECTS: sets cell x of row to PATH
+    private static void setPath(long[] row, int x) {
+        row[x / ImmutableMaze.WORD_LENGTH] |= 1L << x;
+    }
+}
@@ -0,0 +1,23 @@
+package model.generator;
+
+import model.maze.Maze;
+import model.maze.MutableMaze;
+
+// An algorithm that carves random perfect mazes: spanning trees of the graph of vertices that a Maze models (see
+// MazeGenerator), so there is exactly one path between any two vertices. The algorithms differ in speed, memory and
+// texture (ex. depth-first search gives long corridors, while Prim's algorithm gives many short dead ends); see
+// GeneratorType for the strategies that can be chosen by name
+public interface GenerationStrategy {
+
+    // REQUIRES: maze must be full of WALL and its size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this, maze
+    // EFFECTS: carves a random perfect maze into given maze and produces it
+    <T extends MutableMaze> T generateMaze(T maze);
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this
+    // EFFECTS: produce a random perfect maze with given side-length
+    default Maze generateMaze(int size) {
+        return generateMaze(new Maze(size));
+    }
+}
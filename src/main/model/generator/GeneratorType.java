@@ -0,0 +1,44 @@
+package model.generator;
+
+import java.util.concurrent.ForkJoinPool;
+
+// The kinds of GenerationStrategy that can be chosen by name (ex. from the command line)
+public enum GeneratorType {
+    DFS(MazeGenerator::new),
+    KRUSKAL((size, seed) -> new KruskalGenerator(seed)),
+    PRIM((size, seed) -> new PrimGenerator(seed)),
+    WILSON((size, seed) -> new WilsonGenerator(seed)),
+    SIDEWINDER((size, seed) -> new SidewinderGenerator(seed)),
+    BINARY_TREE((size, seed) -> new BinaryTreeGenerator(seed)),
+    GROWING_TREE((size, seed) -> new GrowingTreeGenerator(GrowingTreeGenerator.DEFAULT_NEWEST_BIAS, seed)),
+    ELLER(EllerMazeGenerator::new),
+    TILED((size, seed) -> new TiledMazeGenerator(size, seed, ForkJoinPool.commonPool()));
+
+    // produces a generator of mazes of a given size from a seed
+    private interface Factory {
+        GenerationStrategy create(int size, long seed);
+    }
+
+    private final Factory factory;
+
+    GeneratorType(Factory factory) {
+        this.factory = factory;
+    }
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // EFFECTS: produce a new generator of this type for mazes of given size; the same seed always produces the same
+    //          sequence of mazes
+    public GenerationStrategy create(int size, long seed) {
+        return factory.create(size, seed);
+    }
+
+    // EFFECTS: produce the type whose name is given, ignoring case; throws IllegalArgumentException if there is none
+    public static GeneratorType fromName(String name) {
+        for (GeneratorType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown generator: " + name);
+    }
+}
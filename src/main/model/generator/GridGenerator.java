@@ -0,0 +1,83 @@
+package model.generator;
+
+import model.maze.Maze;
+import model.maze.MutableMaze;
+import model.moveable.Move;
+
+import java.util.Random;
+
+// Base class of the GenerationStrategies that pick the edges of a spanning tree directly. The vertices of the graph
+// that a Maze models (see MazeGenerator) are numbered row by row, so vertex v is cell
+// (2 * (v % vertices) + 1, 2 * (v / vertices) + 1), and subclasses keep any state they need in primitive arrays indexed
+// by vertex; they only have to choose edges with carveEdge, since every vertex is carved before carve is called
+public abstract class GridGenerator implements GenerationStrategy {
+
+    // indices into DIRECTIONS
+    protected static final int UP = 0;
+    protected static final int DOWN = 1;
+    protected static final int LEFT = 2;
+    protected static final int RIGHT = 3;
+    protected static final Move[] DIRECTIONS = {Move.UP, Move.DOWN, Move.LEFT, Move.RIGHT};
+
+    protected final Random random;
+    protected MutableMaze maze;
+    // the number of vertices per side
+    protected int vertices;
+
+    // EFFECTS: initialize a generator with a random seed
+    protected GridGenerator() {
+        random = new Random();
+    }
+
+    // EFFECTS: initialize a generator with a fixed seed, so that the sequence of generated mazes is reproducible
+    protected GridGenerator(long seed) {
+        random = new Random(seed);
+    }
+
+    // REQUIRES: maze must be full of WALL and its size must be odd and at least Maze.MIN_SIZE; ((size - 1) / 2)^2 must
+    //           not exceed Integer.MAX_VALUE
+    // MODIFIES: this, maze
+    // EFFECTS: carves a random perfect maze into given maze and produces it
+    @Override
+    public <T extends MutableMaze> T generateMaze(T maze) {
+        this.maze = maze;
+        vertices = (maze.getSize() - 1) / 2;
+        for (int y = 1; y < maze.getSize() - 1; y += 2) {
+            for (int x = 1; x < maze.getSize() - 1; x += 2) {
+                maze.setCell(x, y, Maze.PATH);
+            }
+        }
+        carve();
+        this.maze = null;
+        return maze;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a random spanning tree of the vertices with carveEdge
+    protected abstract void carve();
+
+    // EFFECTS: produce the vertex next to vertex v in direction d, or -1 if v is on that side of the grid
+    protected int neighbour(int v, int d) {
+        int x = v % vertices + DIRECTIONS[d].getDeltaX();
+        int y = v / vertices + DIRECTIONS[d].getDeltaY();
+        return 0 <= x && x < vertices && 0 <= y && y < vertices ? y * vertices + x : -1;
+    }
+
+    // REQUIRES: neighbour(v, d) != -1
+    // MODIFIES: this
+    // EFFECTS: carves the edge from vertex v to its neighbour in direction d
+    protected void carveEdge(int v, int d) {
+        maze.setCell(2 * (v % vertices) + 1 + DIRECTIONS[d].getDeltaX(),
+                2 * (v / vertices) + 1 + DIRECTIONS[d].getDeltaY(), Maze.PATH);
+    }
+
+    // REQUIRES: v has at least one neighbour
+    // EFFECTS: produce a uniformly random direction from vertex v that leads to a neighbour
+    protected int randomDirection(int v) {
+        int d;
+        do {
+            d = random.nextInt(DIRECTIONS.length);
+        } while (neighbour(v, d) == -1);
+        return d;
+    }
+}
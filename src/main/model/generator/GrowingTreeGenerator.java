@@ -0,0 +1,116 @@
+package model.generator;
+
+// Generates mazes with the Growing Tree algorithm: a list of active vertices starts with a random vertex; a vertex is
+// picked from the list, and joined to a random unvisited neighbour (which becomes active), or if it has none, dropped
+// from the list. Picking the newest vertex gives a depth-first search (long corridors, as MazeGenerator), and picking
+// a random one behaves like Prim's algorithm (short dead ends); newestBias mixes the two. The list is kept in the order
+// vertices were added, so that its newest vertex is always known. Uses two ints and a bit per vertex
+public class GrowingTreeGenerator extends GridGenerator {
+
+    public static final double DEFAULT_NEWEST_BIAS = 0.5;
+
+    private final double newestBias;
+    // the active list: order[s] is the s-th vertex to have been added, added is the number of vertices added so far,
+    // and size the number still active. tree is a Fenwick tree over the slots of order that counts the active ones,
+    // so the vertex of any rank can be found and removed in O(log V) without disturbing the order of the others
+    private int[] order;
+    private int[] tree;
+    private int added;
+    private int size;
+
+    // EFFECTS: initialize a generator with a random seed that picks the newest vertex with DEFAULT_NEWEST_BIAS
+    public GrowingTreeGenerator() {
+        super();
+        newestBias = DEFAULT_NEWEST_BIAS;
+    }
+
+    // REQUIRES: newestBias must be in the range [0, 1]
+    // EFFECTS: initialize a generator with a fixed seed, that picks the newest active vertex with probability
+    //          newestBias and a random one otherwise
+    public GrowingTreeGenerator(double newestBias, long seed) {
+        super(seed);
+        this.newestBias = newestBias;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a random spanning tree of the vertices
+    @Override
+    protected void carve() {
+        int count = vertices * vertices;
+        long[] visited = new long[(count + Long.SIZE - 1) / Long.SIZE];
+        int[] candidates = new int[DIRECTIONS.length];
+        order = new int[count];
+        tree = new int[count + 1];
+        added = 0;
+        size = 0;
+        int first = random.nextInt(count);
+        activate(first);
+        visited[first / Long.SIZE] |= 1L << first;
+        while (size > 0) {
+            int slot = select(random.nextDouble() < newestBias ? size - 1 : random.nextInt(size));
+            int v = order[slot];
+            int open = collectUnvisited(v, visited, candidates);
+            if (open == 0) {
+                deactivate(slot);
+                continue;
+            }
+            int d = candidates[random.nextInt(open)];
+            int u = neighbour(v, d);
+            carveEdge(v, d);
+            visited[u / Long.SIZE] |= 1L << u;
+            activate(u);
+        }
+        order = null;
+        tree = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends vertex v to the active list, as its newest vertex
+    private void activate(int v) {
+        order[added] = v;
+        for (int i = added + 1; i <= order.length; i += i & -i) {
+            tree[i]++;
+        }
+        added++;
+        size++;
+    }
+
+    // REQUIRES: the vertex in given slot is active
+    // MODIFIES: this
+    // EFFECTS: removes the vertex in given slot from the active list; the other vertices keep their order
+    private void deactivate(int slot) {
+        for (int i = slot + 1; i <= order.length; i += i & -i) {
+            tree[i]--;
+        }
+        size--;
+    }
+
+    // REQUIRES: rank must be in the range [0, size - 1]
+    // EFFECTS: produce the slot of the active vertex with given rank in the order the active vertices were added (so
+    //          rank size - 1 is the newest), by descending the Fenwick tree
+    private int select(int rank) {
+        int position = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(order.length); step > 0; step >>= 1) {
+            if (position + step <= order.length && tree[position + step] < remaining) {
+                position += step;
+                remaining -= tree[position];
+            }
+        }
+        return position;
+    }
+
+    // MODIFIES: candidates
+    // EFFECTS: fills candidates with the directions from vertex v to unvisited neighbours, and produces how many
+    //          there are
+    private int collectUnvisited(int v, long[] visited, int[] candidates) {
+        int count = 0;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int u = neighbour(v, d);
+            if (u != -1 && (visited[u / Long.SIZE] & 1L << u) == 0) {
+                candidates[count++] = d;
+            }
+        }
+        return count;
+    }
+}
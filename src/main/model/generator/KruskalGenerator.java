@@ -0,0 +1,73 @@
+package model.generator;
+
+// Generates mazes with randomized Kruskal's algorithm: every edge of the graph is visited in a random order, and an
+// edge is carved iff it joins two vertices that are not yet connected, as tracked by a union-find forest. Uses three
+// ints per vertex (the shuffled edges and the forest), and gives mazes with many short dead ends
+public class KruskalGenerator extends GridGenerator {
+
+    // EFFECTS: initialize a generator with a random seed
+    public KruskalGenerator() {
+        super();
+    }
+
+    // EFFECTS: initialize a generator with a fixed seed, so that the sequence of generated mazes is reproducible
+    public KruskalGenerator(long seed) {
+        super(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a random spanning tree of the vertices
+    @Override
+    protected void carve() {
+        int[] edges = shuffledEdges();
+        int[] parent = new int[vertices * vertices];
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+        }
+        int carved = 0;
+        for (int i = 0; i < edges.length && carved < parent.length - 1; i++) {
+            // edge e runs from vertex e / 2 to the vertex to its right (if e is even) or below it (if e is odd)
+            int v = edges[i] >>> 1;
+            int d = (edges[i] & 1) == 0 ? RIGHT : DOWN;
+            int a = find(parent, v);
+            int b = find(parent, neighbour(v, d));
+            if (a != b) {
+                parent[a] = b;
+                carveEdge(v, d);
+                carved++;
+            }
+        }
+    }
+
+    // EFFECTS: produce every edge of the graph (see carve for their encoding), in a random order
+    private int[] shuffledEdges() {
+        int[] edges = new int[2 * vertices * (vertices - 1)];
+        int count = 0;
+        for (int v = 0; v < vertices * vertices; v++) {
+            if (v % vertices < vertices - 1) {
+                edges[count++] = v << 1;
+            }
+            if (v / vertices < vertices - 1) {
+                edges[count++] = v << 1 | 1;
+            }
+        }
+        // Fisher-Yates shuffle
+        for (int i = edges.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = edges[i];
+            edges[i] = edges[j];
+            edges[j] = swap;
+        }
+        return edges;
+    }
+
+    // MODIFIES: parent
+    // EFFECTS: produce the root of the tree in forest parent that v belongs to, halving the path to it along the way
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
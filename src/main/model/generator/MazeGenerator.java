@@ -1,25 +1,45 @@
 package model.generator;
 
 import model.maze.Maze;
+import model.maze.MutableMaze;
 import model.moveable.Move;
 import model.path.Position;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
-import java.util.Stack;
-import java.util.stream.Stream;
 
-// Generates randomized Mazes of arbitrary size
-public class MazeGenerator {
+// Generates randomized Mazes of arbitrary size with a depth-first search, all at once or a step at a time
+public class MazeGenerator implements StepwiseGenerator {
 
     public static final Position INIT = new Position(1, 1);
 
+    // the directions in which neighbouring vertices are considered; the order (UP, DOWN, LEFT, RIGHT) determines which
+    // maze a given seed produces, so it must not change
+    private static final Move[] DIRECTIONS = {Move.UP, Move.DOWN, Move.LEFT, Move.RIGHT};
+    // the stack is stored in chunks of 2^STACK_CHUNK_BITS frames, so that its depth is not bounded by the length of a
+    // single array (a MappedMaze can have more vertices than fit in an int)
+    private static final int STACK_CHUNK_BITS = 12;
+    private static final int STACK_CHUNK_SIZE = 1 << STACK_CHUNK_BITS;
+    private static final int STACK_CHUNK_MASK = STACK_CHUNK_SIZE - 1;
+
     private int size;
-    private Maze maze;
+    private MutableMaze maze;
     private Random random;
-    private List<Position> visited;
-    private Stack<Position> stack;
+    // one bit per vertex of the graph; vertex (x, y) is bit ((y - 1) / 2) * vertices + (x - 1) / 2
+    private long[] visited;
+    private int vertices;
+    // the DFS stack; rather than the vertices themselves, it holds the index in DIRECTIONS of the direction that was
+    // moved in to reach each vertex from the one below it, so that we can backtrack from the current vertex with no
+    // further state. Frame i is stack[i >>> STACK_CHUNK_BITS][i & STACK_CHUNK_MASK]; chunks are allocated as the stack
+    // first reaches them and kept across calls to start
+    private byte[][] stack;
+    private long depth;
+    // the vertex at the top of the stack, and the number of vertices visited so far
+    private int currentX;
+    private int currentY;
+    private long visitedCount;
+    // scratch space for the directions that lead to unvisited vertices from the current vertex
+    private final int[] candidates = new int[DIRECTIONS.length];
 
     // REQUIRES: size must be odd and in [MazeGame.MIN_SIZE, MazeGame.MAX_SIZE]
     // EFFECTS: initialize maze
@@ -28,28 +48,59 @@ public class MazeGenerator {
         random = new Random();
     }
 
-    // MODIFIES: this
-    // EFFECTS: initialize the local variables to set up graph for generation algorithm
-    private void init() {
-        maze = new Maze(size);
-        visited = new ArrayList<>((int) Math.pow(size - 2, 2));
-        stack = new Stack<>();
-
-        stack.push(INIT);
-        visited.add(INIT);
-        maze.setCell(INIT, Maze.PATH);
-
-        // set all vertices to PATH
-        for (int x = 1; x < size - 1; x += 2) {
-            for (int y = 1; y < size - 1; y += 2) {
-                maze.setCell(x, y, Maze.PATH);
-            }
+    // REQUIRES: size must be odd and in [MazeGame.MIN_SIZE, MazeGame.MAX_SIZE]
+    // EFFECTS: initialize maze with a fixed seed, so that the sequence of generated mazes is reproducible
+    public MazeGenerator(int size, long seed) {
+        this.size = size;
+        random = new Random(seed);
+    }
+
+    // REQUIRES: maze must be full of WALL and its size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this, maze
+    // EFFECTS: initialize the local variables to set up graph for generation algorithm, carving into given maze, and
+    //          carves the start
+    @Override
+    public void start(MutableMaze maze) {
+        this.maze = maze;
+        size = maze.getSize();
+        vertices = (size - 1) / 2;
+        visited = new long[(int) (((long) vertices * vertices + Long.SIZE - 1) / Long.SIZE)];
+        if (stack == null) {
+            stack = new byte[1][];
+        }
+        depth = 0;
+        visitedCount = 0;
+
+        currentX = INIT.getPosX();
+        currentY = INIT.getPosY();
+        markVisited(currentX, currentY);
+        maze.setCell(currentX, currentY, Maze.PATH);
+    }
+
+    // EFFECTS: produce true if every vertex of the maze that was started has been carved
+    @Override
+    public boolean isDone() {
+        return visitedCount == (long) vertices * vertices;
+    }
+
+    // REQUIRES: start has been called and steps must be positive
+    // MODIFIES: this, carved
+    // EFFECTS: carves up to steps passages (each an edge and the vertex beyond it), appending their cells to carved if
+    //          it is not null, and produces the number carved
+    @Override
+    public int step(int steps, CellDeltas carved) {
+        int taken = 0;
+        while (taken < steps && !isDone()) {
+            advance(carved);
+            taken++;
         }
+        return taken;
     }
 
     // REQUIRES: size must be odd and in [MazeGame.MIN_SIZE, MazeGame.MAX_SIZE]
     // MODIFIES: this
     // EFFECTS: produce a square maze with specified side-length
+    @Override
     public Maze generateMaze(int size) {
         this.size = size;
         return generateMaze();
@@ -58,41 +109,73 @@ public class MazeGenerator {
     // MODIFIES: this
     // EFFECTS: produce a square maze with most recently specified side-length
     public Maze generateMaze() {
+        return generateMaze(new Maze(size));
+    }
+
+    // REQUIRES: maze must be full of WALL and its size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this, maze
+    // EFFECTS: carves a random maze into given maze and produces it; the generator only reads and writes cells through
+    //          the MutableMaze interface, so the maze may use any backing store (ex. a MappedMaze)
+    @Override
+    public <T extends MutableMaze> T generateMaze(T maze) {
         // This is an iterative implementation of the randomized depth-first search maze generation algorithm from
         // Wikipedia: https://en.wikipedia.org/wiki/Maze_generation_algorithm
-        // We model a graph with the 2-dimensional boolean array that is Maze so we can apply algorithms that operate on
-        // graphs to generate a spanning tree
-        init();
-        Position[] unvisitedNeighbours;
-        Position current;
-        Position neighbour;
-
-        while (!stack.empty()) {
-            current = stack.pop();
-            unvisitedNeighbours = getValidNeighbours(current)
-                    .filter(p -> !visited.contains(p))
-                    .toArray(Position[]::new);
-
-            if (unvisitedNeighbours.length > 0) {
-                stack.push(current);
-                neighbour = unvisitedNeighbours[random.nextInt(unvisitedNeighbours.length)];
-                maze.setCell(getEdge(current, neighbour), Maze.PATH);
-                visited.add(neighbour);
-                stack.push(neighbour);
-            }
+        // We model a graph with the 2-dimensional grid that is Maze so we can apply algorithms that operate on graphs to
+        // generate a spanning tree; the top of the stack is always the vertex (currentX, currentY), and nothing is
+        // allocated per step
+        start(maze);
+        while (!isDone()) {
+            advance(null);
         }
-
         return maze;
     }
 
-    // EFFECTS: produces a stream of valid Positions from pos (x and y are both in the range [1, size - 2]); a neighbour
-    //          is not an adjacent cell, but rather, is the closest vertex in the graph that the Maze models. The
-    //          closest vertex in a particular direction is always 2 steps away (if abc are cells, then a and b are
-    //          neighbouring vertices)
-    private Stream<Position> getValidNeighbours(Position pos) {
-        return Stream.of(Move.UP, Move.DOWN, Move.LEFT, Move.RIGHT)
-                .map(m -> pos.applyMove(m).applyMove(m))
-                .filter(p -> isValid(p.getPosX()) && isValid(p.getPosY()));
+    // REQUIRES: !isDone()
+    // MODIFIES: this, carved
+    // EFFECTS: backtracks to the nearest vertex on the stack that has an unvisited neighbour, and carves the passage to
+    //          a random one of them (and the neighbour itself), appending both cells to carved if it is not null
+    private void advance(CellDeltas carved) {
+        int count;
+        Move direction;
+        while ((count = collectUnvisitedNeighbours(currentX, currentY)) == 0) {
+            direction = DIRECTIONS[pop()];
+            currentX -= 2 * direction.getDeltaX();
+            currentY -= 2 * direction.getDeltaY();
+        }
+        int choice = candidates[random.nextInt(count)];
+        direction = DIRECTIONS[choice];
+        carve(currentX + direction.getDeltaX(), currentY + direction.getDeltaY(), carved);
+        currentX += 2 * direction.getDeltaX();
+        currentY += 2 * direction.getDeltaY();
+        carve(currentX, currentY, carved);
+        markVisited(currentX, currentY);
+        push(choice);
+    }
+
+    // MODIFIES: this, carved
+    // EFFECTS: sets cell (cellX, cellY) of the maze to PATH, and appends it to carved if carved is not null
+    private void carve(int cellX, int cellY, CellDeltas carved) {
+        maze.setCell(cellX, cellY, Maze.PATH);
+        if (carved != null) {
+            carved.add(cellX, cellY);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fills candidates with the indices of the DIRECTIONS that lead from vertex (x, y) to a valid, unvisited
+    //          vertex and produces how many there are; a neighbour is not an adjacent cell, but rather, is the closest
+    //          vertex in the graph that the Maze models. The closest vertex in a particular direction is always 2 steps
+    //          away (if abc are cells, then a and c are neighbouring vertices)
+    private int collectUnvisitedNeighbours(int x, int y) {
+        int count = 0;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            int neighbourX = x + 2 * DIRECTIONS[i].getDeltaX();
+            int neighbourY = y + 2 * DIRECTIONS[i].getDeltaY();
+            if (isValid(neighbourX) && isValid(neighbourY) && !isVisited(neighbourX, neighbourY)) {
+                candidates[count++] = i;
+            }
+        }
+        return count;
     }
 
     // EFFECTS: produce true if coord is in range [1, size - 2]
@@ -100,15 +183,47 @@ public class MazeGenerator {
         return 0 < coord && coord < size - 1;
     }
 
-    // REQUIRES: origin and destination must be neighbouring vertices, meaning that they have exactly one cell between
-    //           them and are either horizontally or vertically aligned
-    // EFFECTS: produces the position of the cell that is between origin and destination
-    private Position getEdge(Position origin, Position destination) {
-        if (origin.getPosY() == destination.getPosY()) {
-            return origin.applyMove(origin.getPosX() - destination.getPosX() < 0 ? Move.RIGHT : Move.LEFT);
-        } else {
-            return origin.applyMove(origin.getPosY() - destination.getPosY() < 0 ? Move.DOWN : Move.UP);
+    // EFFECTS: produce the bit index in visited of the vertex at (x, y)
+    private long vertexIndex(int x, int y) {
+        return (long) ((y - 1) / 2) * vertices + (x - 1) / 2;
+    }
+
+    // REQUIRES: (x, y) is a vertex
+    // EFFECTS: produce true if vertex (x, y) has been visited
+    private boolean isVisited(int x, int y) {
+        long index = vertexIndex(x, y);
+        return (visited[(int) (index / Long.SIZE)] & (1L << index)) != 0;
+    }
+
+    // REQUIRES: (x, y) is a vertex
+    // MODIFIES: this
+    // EFFECTS: records vertex (x, y) as visited
+    private void markVisited(int x, int y) {
+        long index = vertexIndex(x, y);
+        visited[(int) (index / Long.SIZE)] |= 1L << index;
+        visitedCount++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: pushes direction onto the stack, allocating another chunk if the top one is full
+    private void push(int direction) {
+        int chunk = (int) (depth >>> STACK_CHUNK_BITS);
+        if (chunk == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
         }
+        if (stack[chunk] == null) {
+            stack[chunk] = new byte[STACK_CHUNK_SIZE];
+        }
+        stack[chunk][(int) (depth & STACK_CHUNK_MASK)] = (byte) direction;
+        depth++;
+    }
+
+    // REQUIRES: depth > 0
+    // MODIFIES: this
+    // EFFECTS: pops and produces the direction at the top of the stack
+    private int pop() {
+        depth--;
+        return stack[(int) (depth >>> STACK_CHUNK_BITS)][(int) (depth & STACK_CHUNK_MASK)];
     }
 
     // EFFECTS: produce a new maze with WALL border and PATH in all cells that are not on the border
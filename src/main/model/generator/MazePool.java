@@ -0,0 +1,127 @@
+package model.generator;
+
+import model.maze.Maze;
+import model.maze.TrackedMaze;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps a bounded queue of ready-made random mazes of the current size, so that a maze can be taken without waiting
+// for it to be generated. Worker threads (daemons, so they never keep the application alive) top the queue back up
+// after every take; changing the size drops the queue, and mazes of the old size that are still being generated are
+// thrown away when they finish. Mazes are handed over as TrackedMazes, with their open directions cached and their
+// indexes built by the worker, since building them takes time proportional to the maze just as generating it does.
+// Every method may be called from any thread
+public class MazePool implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final GeneratorType type;
+    private final int capacity;
+    private final ExecutorService workers;
+    // the queue for the current size; replaced as a whole by setSize
+    private volatile Stock current;
+
+    // REQUIRES: capacity and threads must be positive
+    // EFFECTS: initialize a pool that keeps up to capacity mazes made by generators of given type ready, generating them
+    //          on given number of threads; no mazes are made until a size is set
+    public MazePool(GeneratorType type, int capacity, int threads) {
+        this.type = type;
+        this.capacity = capacity;
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "maze-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this
+    // EFFECTS: if size differs from the current size, drops the mazes that are ready and starts filling the queue with
+    //          mazes of given size
+    public synchronized void setSize(int size) {
+        if (current == null || current.size != size) {
+            current = new Stock(size);
+            refill(current);
+        }
+    }
+
+    // EFFECTS: produce the current size, or 0 if none has been set
+    public int getSize() {
+        Stock stock = current;
+        return stock == null ? 0 : stock.size;
+    }
+
+    // EFFECTS: produce the number of mazes of the current size that are ready to be taken
+    public int getReadyCount() {
+        Stock stock = current;
+        return stock == null ? 0 : stock.ready.size();
+    }
+
+    // REQUIRES: a size has been set
+    // MODIFIES: this
+    // EFFECTS: produce a random maze of the current size, taken from the queue if one is ready or else generated on the
+    //          calling thread, and schedules a replacement
+    public TrackedMaze take() {
+        Stock stock = current;
+        TrackedMaze maze = stock.ready.poll();
+        refill(stock);
+        return maze != null ? maze : generate(stock.size);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the workers; mazes that are being generated are abandoned
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: schedules mazes to be generated for stock until the mazes that are ready or being generated fill it, as
+    //          long as stock is still current
+    private void refill(Stock stock) {
+        while (stock == current && !workers.isShutdown()) {
+            int pending = stock.pending.get();
+            if (stock.ready.size() + pending >= capacity) {
+                return;
+            }
+            if (stock.pending.compareAndSet(pending, pending + 1)) {
+                workers.execute(() -> fill(stock));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: generates a maze for stock and queues it, unless stock is no longer current
+    private void fill(Stock stock) {
+        try {
+            if (stock == current) {
+                stock.ready.offer(generate(stock.size));
+            }
+        } finally {
+            stock.pending.decrementAndGet();
+        }
+    }
+
+    // EFFECTS: produce a new random maze of given size, tracked
+    private TrackedMaze generate(int size) {
+        Maze maze = type.create(size, ThreadLocalRandom.current().nextLong()).generateMaze(size);
+        return new TrackedMaze(maze);
+    }
+
+    // The mazes of one size that are ready, and the number being generated
+    private final class Stock {
+        private final int size;
+        private final BlockingQueue<TrackedMaze> ready;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Stock(int size) {
+            this.size = size;
+            ready = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
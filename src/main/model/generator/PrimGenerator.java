@@ -0,0 +1,66 @@
+package model.generator;
+
+// Generates mazes with randomized Prim's algorithm: the tree grows from a random vertex by repeatedly joining a random
+// vertex of its frontier (the vertices next to the tree) to a random neighbour in the tree. Uses a byte and an int per
+// vertex, and gives mazes with many short dead ends that radiate from the start vertex
+public class PrimGenerator extends GridGenerator {
+
+    private static final byte OUT = 0;
+    private static final byte FRONTIER = 1;
+    private static final byte IN = 2;
+
+    private byte[] state;
+    // the frontier, in no particular order, so that a vertex can be removed by moving the last one into its place
+    private int[] frontier;
+    private int frontierSize;
+
+    // EFFECTS: initialize a generator with a random seed
+    public PrimGenerator() {
+        super();
+    }
+
+    // EFFECTS: initialize a generator with a fixed seed, so that the sequence of generated mazes is reproducible
+    public PrimGenerator(long seed) {
+        super(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a random spanning tree of the vertices
+    @Override
+    protected void carve() {
+        state = new byte[vertices * vertices];
+        frontier = new int[vertices * vertices];
+        frontierSize = 0;
+        addToTree(random.nextInt(state.length));
+        int[] candidates = new int[DIRECTIONS.length];
+        while (frontierSize > 0) {
+            int i = random.nextInt(frontierSize);
+            int v = frontier[i];
+            frontier[i] = frontier[--frontierSize];
+            int count = 0;
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int u = neighbour(v, d);
+                if (u != -1 && state[u] == IN) {
+                    candidates[count++] = d;
+                }
+            }
+            carveEdge(v, candidates[random.nextInt(count)]);
+            addToTree(v);
+        }
+        state = null;
+        frontier = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds vertex v to the tree, and its neighbours that are not yet in the tree or frontier to the frontier
+    private void addToTree(int v) {
+        state[v] = IN;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int u = neighbour(v, d);
+            if (u != -1 && state[u] == OUT) {
+                state[u] = FRONTIER;
+                frontier[frontierSize++] = u;
+            }
+        }
+    }
+}
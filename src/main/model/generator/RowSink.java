@@ -0,0 +1,11 @@
+package model.generator;
+
+// Receives a maze one row of cells at a time, from top to bottom, as it is generated (see EllerMazeGenerator)
+public interface RowSink {
+
+    // REQUIRES: rows are given in order of y, starting at 0; row must not be kept after the call returns, since the
+    //           generator reuses it for the next row
+    // EFFECTS: accepts row y of the maze; cell x is PATH iff bit x % WORD_LENGTH of row[x / WORD_LENGTH] is set (the
+    //          layout of ImmutableMaze.getRowWord)
+    void acceptRow(int y, long[] row);
+}
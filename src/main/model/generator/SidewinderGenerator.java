@@ -0,0 +1,37 @@
+package model.generator;
+
+// Generates mazes with the Sidewinder algorithm: each row of vertices is split into random runs of vertices joined
+// left to right, and each run (outside the top row, which is a single run) is joined to the row above by a random one
+// of its vertices. It needs no memory beyond the maze and never revisits a vertex, which makes it the fastest strategy,
+// but its mazes have a corridor along the top and always lead upwards (no dead ends point up)
+public class SidewinderGenerator extends GridGenerator {
+
+    // EFFECTS: initialize a generator with a random seed
+    public SidewinderGenerator() {
+        super();
+    }
+
+    // EFFECTS: initialize a generator with a fixed seed, so that the sequence of generated mazes is reproducible
+    public SidewinderGenerator(long seed) {
+        super(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a random spanning tree of the vertices
+    @Override
+    protected void carve() {
+        for (int y = 0; y < vertices; y++) {
+            int row = y * vertices;
+            int runStart = 0;
+            for (int x = 0; x < vertices; x++) {
+                boolean east = x == vertices - 1;
+                if (y > 0 && (east || random.nextBoolean())) {
+                    carveEdge(row + runStart + random.nextInt(x - runStart + 1), UP);
+                    runStart = x + 1;
+                } else if (!east) {
+                    carveEdge(row + x, RIGHT);
+                }
+            }
+        }
+    }
+}
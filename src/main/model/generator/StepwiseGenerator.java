@@ -0,0 +1,24 @@
+package model.generator;
+
+import model.maze.MutableMaze;
+
+// A GenerationStrategy whose carving can also be run a step at a time (ex. to animate it), the way a MazeSolver is
+// ticked. A step carves one new passage; each batch of steps reports just the cells it set to PATH, so following the
+// generation costs as much as the carving itself rather than a look at the whole maze per step
+public interface StepwiseGenerator extends GenerationStrategy {
+
+    // REQUIRES: maze must be full of WALL and its size must be odd and at least Maze.MIN_SIZE
+    // MODIFIES: this, maze
+    // EFFECTS: begins generating a maze in given maze, carving only the start (1, 1)
+    void start(MutableMaze maze);
+
+    // REQUIRES: start has been called
+    // EFFECTS: produce true if the maze that was started is complete
+    boolean isDone();
+
+    // REQUIRES: start has been called and steps must be positive
+    // MODIFIES: this, carved, the maze that was started
+    // EFFECTS: takes up to steps steps (fewer if the maze is completed first), appends every cell they set to PATH to
+    //          carved (if it is not null) in the order they were set, and produces the number of steps taken
+    int step(int steps, CellDeltas carved);
+}
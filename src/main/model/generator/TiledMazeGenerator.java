@@ -0,0 +1,255 @@
+package model.generator;
+
+import model.maze.Maze;
+import model.maze.MutableMaze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Generates randomized perfect Mazes in parallel. The graph of vertices that a Maze models (see MazeGenerator) is cut
+// into square tiles of tileSize * tileSize vertices, and:
+//   1. a spanning tree of each tile is generated with a randomized depth-first search, one fork-join task per tile;
+//   2. the tiles are stitched together along a random spanning tree of the grid of tiles, by opening a single random
+//      edge across the border of each pair of tiles that are adjacent in that tree;
+//   3. the resulting tree is carved into the maze in bands of rows, one fork-join task per band.
+// A spanning tree of spanning trees is a spanning tree, so the result is a perfect maze: there is exactly one path
+// between any two vertices, in particular from (1, 1) to (size - 2, size - 2). Every tile draws from its own Random,
+// seeded from the generator's seed and the tile's index, so the maze does not depend on how tasks are scheduled.
+// REQUIRES: ((size - 1) / 2)^2 must not exceed Integer.MAX_VALUE (size at most 92681)
+public class TiledMazeGenerator implements GenerationStrategy {
+
+    // vertices per side of a tile; a tile's DFS state is about tileSize^2 bytes, which stays in cache at this size
+    public static final int DEFAULT_TILE_SIZE = 128;
+    // vertex rows carved per task in phase 3
+    private static final int BAND_HEIGHT = 32;
+    // the bits of edges[v] that record which edges from vertex v are open; only east and south are recorded, since
+    // the west and north edges of a vertex are the east and south edges of its neighbours
+    private static final byte EAST = 1;
+    private static final byte SOUTH = 2;
+    // DFS moves, indexed by direction: UP, DOWN, LEFT, RIGHT
+    private static final int[] DELTA_X = {0, 0, -1, 1};
+    private static final int[] DELTA_Y = {-1, 1, 0, 0};
+
+    private final int size;
+    private final long seed;
+    private final int tileSize;
+    private final ForkJoinPool pool;
+    private int vertices;
+    // edges[vy * vertices + vx] holds the EAST and SOUTH bits of vertex (vx, vy)
+    private byte[] edges;
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // EFFECTS: initialize a generator of mazes of given size that runs on pool, with tiles of DEFAULT_TILE_SIZE
+    public TiledMazeGenerator(int size, long seed, ForkJoinPool pool) {
+        this(size, seed, DEFAULT_TILE_SIZE, pool);
+    }
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE, tileSize must be positive
+    // EFFECTS: initialize a generator of mazes of given size that runs on pool, with tiles of tileSize^2 vertices
+    public TiledMazeGenerator(int size, long seed, int tileSize, ForkJoinPool pool) {
+        this.size = size;
+        this.seed = seed;
+        this.tileSize = tileSize;
+        this.pool = pool;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce a square maze with the generator's side-length
+    public Maze generateMaze() {
+        return generateMaze(new Maze(size));
+    }
+
+    // REQUIRES: maze must be full of WALL, its size must be odd and at least Maze.MIN_SIZE, and setCell must be safe to
+    //           call concurrently for cells in different rows (true of MappedMaze, and of a Maze with no open-directions
+    //           cache and no cell listeners: the cache update writes to neighbouring rows, and listeners are called on
+    //           the carving threads)
+    // MODIFIES: this, maze
+    // EFFECTS: carves a random perfect maze into given maze and produces it
+    @Override
+    public <T extends MutableMaze> T generateMaze(T maze) {
+        vertices = (maze.getSize() - 1) / 2;
+        edges = new byte[vertices * vertices];
+        int tiles = (vertices + tileSize - 1) / tileSize;
+
+        List<TileTask> tileTasks = new ArrayList<>(tiles * tiles);
+        for (int i = 0; i < tiles * tiles; i++) {
+            tileTasks.add(new TileTask(i % tiles, i / tiles));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tileTasks);
+            }
+        });
+        stitch(tiles);
+        pool.invoke(new BandTask(maze, 0, vertices));
+
+        edges = null;
+        return maze;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: joins the spanning trees of the tiles (a tiles * tiles grid) along a random spanning tree of the grid,
+    //          found by a randomized depth-first search over tiles, opening one random edge across each tree edge
+    private void stitch(int tiles) {
+        Random random = new Random(seed);
+        boolean[] visited = new boolean[tiles * tiles];
+        int[] stack = new int[tiles * tiles];
+        int[] candidates = new int[DELTA_X.length];
+        int depth = 0;
+        stack[depth++] = 0;
+        visited[0] = true;
+        while (depth > 0) {
+            int tile = stack[depth - 1];
+            int count = 0;
+            for (int d = 0; d < DELTA_X.length; d++) {
+                int tx = tile % tiles + DELTA_X[d];
+                int ty = tile / tiles + DELTA_Y[d];
+                if (0 <= tx && tx < tiles && 0 <= ty && ty < tiles && !visited[ty * tiles + tx]) {
+                    candidates[count++] = d;
+                }
+            }
+            if (count == 0) {
+                depth--;
+                continue;
+            }
+            int d = candidates[random.nextInt(count)];
+            int next = tile + DELTA_Y[d] * tiles + DELTA_X[d];
+            openBorder(Math.min(tile, next) % tiles, Math.min(tile, next) / tiles, DELTA_X[d] != 0, random);
+            visited[next] = true;
+            stack[depth++] = next;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens a random edge from tile (tx, ty) to the tile east of it (if horizontal) or south of it (if not)
+    private void openBorder(int tx, int ty, boolean horizontal, Random random) {
+        if (horizontal) {
+            int vx = (tx + 1) * tileSize - 1;
+            int vy = ty * tileSize + random.nextInt(Math.min(tileSize, vertices - ty * tileSize));
+            edges[vy * vertices + vx] |= EAST;
+        } else {
+            int vx = tx * tileSize + random.nextInt(Math.min(tileSize, vertices - tx * tileSize));
+            int vy = (ty + 1) * tileSize - 1;
+            edges[vy * vertices + vx] |= SOUTH;
+        }
+    }
+
+    // Generates a spanning tree of the vertices in one tile; only writes the edges entries of vertices in its tile
+    @SuppressWarnings("serial")
+    private class TileTask extends RecursiveAction {
+        private final int x0;
+        private final int y0;
+        private final int width;
+        private final int height;
+
+        // EFFECTS: initialize the task for tile (tx, ty); tiles on the east and south borders may be cut short
+        private TileTask(int tx, int ty) {
+            x0 = tx * tileSize;
+            y0 = ty * tileSize;
+            width = Math.min(tileSize, vertices - x0);
+            height = Math.min(tileSize, vertices - y0);
+        }
+
+        // MODIFIES: TiledMazeGenerator.this
+        // EFFECTS: runs an iterative randomized DFS from the tile's top left vertex; like MazeGenerator, the stack
+        //          holds the direction moved in to reach each vertex, so backtracking needs no further state
+        @Override
+        protected void compute() {
+            Random random = new Random(seed ^ ((long) (y0 / tileSize * vertices + x0 / tileSize) + 1)
+                    * 0x9E3779B97F4A7C15L);
+            boolean[] visited = new boolean[width * height];
+            byte[] stack = new byte[width * height];
+            int[] candidates = new int[DELTA_X.length];
+            int depth = 0;
+            int x = 0;
+            int y = 0;
+            visited[0] = true;
+            while (true) {
+                int count = collectUnvisited(x, y, visited, candidates);
+                if (count > 0) {
+                    int d = candidates[random.nextInt(count)];
+                    open(x0 + x, y0 + y, d);
+                    x += DELTA_X[d];
+                    y += DELTA_Y[d];
+                    visited[y * width + x] = true;
+                    stack[depth++] = (byte) d;
+                } else if (depth > 0) {
+                    int d = stack[--depth];
+                    x -= DELTA_X[d];
+                    y -= DELTA_Y[d];
+                } else {
+                    return;
+                }
+            }
+        }
+
+        // MODIFIES: candidates
+        // EFFECTS: fills candidates with the directions from local vertex (x, y) to unvisited vertices in this tile,
+        //          and produces how many there are
+        private int collectUnvisited(int x, int y, boolean[] visited, int[] candidates) {
+            int count = 0;
+            for (int d = 0; d < DELTA_X.length; d++) {
+                int nx = x + DELTA_X[d];
+                int ny = y + DELTA_Y[d];
+                if (0 <= nx && nx < width && 0 <= ny && ny < height && !visited[ny * width + nx]) {
+                    candidates[count++] = d;
+                }
+            }
+            return count;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the edge from vertex (vx, vy) in direction d, by setting the bit of whichever of its endpoints
+    //          is to the west or north
+    private void open(int vx, int vy, int d) {
+        if (DELTA_X[d] != 0) {
+            edges[vy * vertices + Math.min(vx, vx + DELTA_X[d])] |= EAST;
+        } else {
+            edges[Math.min(vy, vy + DELTA_Y[d]) * vertices + vx] |= SOUTH;
+        }
+    }
+
+    // Carves vertex rows [from, to) into the maze, splitting the range until it is at most BAND_HEIGHT rows; vertex
+    // row vy only touches cell rows 2 * vy + 1 and 2 * vy + 2, so bands never write the same row
+    @SuppressWarnings("serial")
+    private class BandTask extends RecursiveAction {
+        private final MutableMaze maze;
+        private final int from;
+        private final int to;
+
+        private BandTask(MutableMaze maze, int from, int to) {
+            this.maze = maze;
+            this.from = from;
+            this.to = to;
+        }
+
+        // MODIFIES: maze
+        @Override
+        protected void compute() {
+            if (to - from > BAND_HEIGHT) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BandTask(maze, from, middle), new BandTask(maze, middle, to));
+                return;
+            }
+            for (int vy = from; vy < to; vy++) {
+                int y = 2 * vy + 1;
+                for (int vx = 0; vx < vertices; vx++) {
+                    int x = 2 * vx + 1;
+                    byte open = edges[vy * vertices + vx];
+                    maze.setCell(x, y, Maze.PATH);
+                    if ((open & EAST) != 0) {
+                        maze.setCell(x + 1, y, Maze.PATH);
+                    }
+                    if ((open & SOUTH) != 0) {
+                        maze.setCell(x, y + 1, Maze.PATH);
+                    }
+                }
+            }
+        }
+    }
+}
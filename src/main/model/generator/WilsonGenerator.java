@@ -0,0 +1,43 @@
+package model.generator;
+
+// Generates mazes with Wilson's algorithm: starting from a tree holding a single random vertex, a random walk is taken
+// from each vertex not yet in the tree until it hits the tree, and the walk, with its loops erased, is added to the
+// tree. Unlike the other strategies it produces every spanning tree with equal probability (so its mazes have no
+// bias), but its first walks wander for a long time, which makes it the slowest on large mazes. Uses a byte per vertex
+// (the direction the latest walk left it in) and a bit per vertex
+public class WilsonGenerator extends GridGenerator {
+
+    // EFFECTS: initialize a generator with a random seed
+    public WilsonGenerator() {
+        super();
+    }
+
+    // EFFECTS: initialize a generator with a fixed seed, so that the sequence of generated mazes is reproducible
+    public WilsonGenerator(long seed) {
+        super(seed);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carves the edges of a uniformly random spanning tree of the vertices
+    @Override
+    protected void carve() {
+        int count = vertices * vertices;
+        long[] inTree = new long[(count + Long.SIZE - 1) / Long.SIZE];
+        // exit[v] is the direction in which the current walk last left v; following the exits from the start of a walk
+        // retraces it with every loop erased, since a revisit overwrites the exit taken before the loop
+        byte[] exit = new byte[count];
+        int root = random.nextInt(count);
+        inTree[root / Long.SIZE] |= 1L << root;
+        for (int start = 0; start < count; start++) {
+            int v = start;
+            while ((inTree[v / Long.SIZE] & 1L << v) == 0) {
+                exit[v] = (byte) randomDirection(v);
+                v = neighbour(v, exit[v]);
+            }
+            for (v = start; (inTree[v / Long.SIZE] & 1L << v) == 0; v = neighbour(v, exit[v])) {
+                inTree[v / Long.SIZE] |= 1L << v;
+                carveEdge(v, exit[v]);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package model.maze;
+
+// Something that keeps track of a Maze as it is edited; see Maze.addCellListener
+public interface CellListener {
+
+    // EFFECTS: called after cell x, y of the maze listened to was changed to value (never when setCell leaves a cell
+    //          as it was)
+    void cellChanged(int x, int y, boolean value);
+}
@@ -0,0 +1,68 @@
+package model.maze;
+
+import java.util.Arrays;
+
+// A growable FIFO queue of linear cell indices for the breadth-first searches of ConnectivityIndex and DistanceField.
+// It remembers every cell added since it was last cleared, so that a search's queue doubles as the list of cells the
+// search reached
+final class CellQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // cells[head, tail) are waiting and cells[0, tail) have been added since the queue was last cleared
+    private int[] cells = new int[INITIAL_CAPACITY];
+    private int head;
+    private int tail;
+
+    // MODIFIES: this
+    // EFFECTS: empties the queue and forgets every cell added to it
+    void clear() {
+        head = 0;
+        tail = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties the queue and adds cell to it
+    void reset(int cell) {
+        clear();
+        add(cell);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds cell to the back of the queue
+    void add(int cell) {
+        if (tail == cells.length) {
+            cells = Arrays.copyOf(cells, 2 * tail);
+        }
+        cells[tail++] = cell;
+    }
+
+    // REQUIRES: the queue must not be empty
+    // EFFECTS: produce the cell at the front of the queue
+    int peek() {
+        return cells[head];
+    }
+
+    // REQUIRES: the queue must not be empty
+    // MODIFIES: this
+    // EFFECTS: removes and produces the cell at the front of the queue
+    int poll() {
+        return cells[head++];
+    }
+
+    // EFFECTS: produce true if no cells are waiting
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    // EFFECTS: produce the number of cells added since the queue was last cleared
+    int getAddedCount() {
+        return tail;
+    }
+
+    // REQUIRES: i must be in the range [0, getAddedCount() - 1]
+    // EFFECTS: produce the i-th cell added since the queue was last cleared
+    int getAdded(int i) {
+        return cells[i];
+    }
+}
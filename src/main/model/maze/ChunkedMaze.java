@@ -0,0 +1,207 @@
+package model.maze;
+
+import model.generator.GeneratorType;
+import model.path.Position;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A read-only maze world of up to MAX_CHUNKS * MAX_CHUNKS chunks that is never generated up front: each chunk is a
+// CHUNK_SIZE * CHUNK_SIZE block of cells, generated from (seed, chunkX, chunkY) alone the first time one of its cells
+// is read, and kept in a small LRU cache, so memory is constant however far a Player explores. Chunk (cx, cy) covers
+// the cells (x, y) with x / CHUNK_SIZE == cx and y / CHUNK_SIZE == cy; within it, cells follow the layout of a Maze
+// (vertices at odd coordinates), and its left column and top row are the walls it shares with the chunks to its left
+// and above. Every chunk is a perfect maze, and opens a single door (chosen from its seed) through each of those two
+// walls, except on the edge of the world; so every chunk is connected to all of its neighbours, and the world is
+// connected, but it has loops wherever four chunks meet. Like Maze, it is surrounded by WALL and the start (1, 1) and
+// goal (size - 2, size - 2) are PATH. A chunk is exactly one word wide, so getRowWord is a single array read.
+// Not thread-safe: reads update the cache.
+public class ChunkedMaze implements ImmutableMaze {
+
+    // side-length of a chunk, in cells
+    public static final int CHUNK_SIZE = WORD_LENGTH;
+    // the most chunks per side that keep size an int
+    public static final int MAX_CHUNKS = (Integer.MAX_VALUE - 1) / CHUNK_SIZE;
+    public static final int DEFAULT_CACHE_CAPACITY = 256;
+    // a chunk is generated as a maze of this size, of which all but the last row and column are kept
+    private static final int CHUNK_MAZE_SIZE = CHUNK_SIZE + 1;
+    private static final int VERTICES_PER_CHUNK = CHUNK_SIZE / 2;
+
+    private final long seed;
+    private final int chunks;
+    private final int size;
+    private final GeneratorType generator;
+    // rows of the most recently used chunks, keyed by chunkKey; iterates from least to most recently used
+    private final LinkedHashMap<Long, long[]> cache;
+    // the most recently read chunk, so that reads within one chunk skip the cache lookup
+    private long lastKey = -1;
+    private long[] lastChunk;
+    private long chunksGenerated;
+
+    // EFFECTS: initialize a world of MAX_CHUNKS * MAX_CHUNKS chunks, generated by depth-first search from seed
+    public ChunkedMaze(long seed) {
+        this(seed, MAX_CHUNKS, GeneratorType.DFS, DEFAULT_CACHE_CAPACITY);
+    }
+
+    // REQUIRES: chunks must be in the range [1, MAX_CHUNKS] and cacheCapacity must be positive
+    // EFFECTS: initialize a world of chunks * chunks chunks, each generated by generator from seed and its coordinates,
+    //          that keeps at most cacheCapacity chunks in memory
+    public ChunkedMaze(long seed, int chunks, GeneratorType generator, int cacheCapacity) {
+        this.seed = seed;
+        this.chunks = chunks;
+        this.generator = generator;
+        size = chunks * CHUNK_SIZE + 1;
+        cache = new LinkedHashMap<Long, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    // EFFECTS: produce the side-length of the maze
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    // EFFECTS: produce the number of chunks per side
+    public int getChunks() {
+        return chunks;
+    }
+
+    // EFFECTS: produce the number of chunks generated so far, counting every chunk that was generated again after
+    //          being evicted
+    public long getChunksGenerated() {
+        return chunksGenerated;
+    }
+
+    // EFFECTS: produce the number of chunks that are currently held in memory
+    public int getCachedChunks() {
+        return cache.size();
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // MODIFIES: this
+    // EFFECTS: produce the value of the cell with given indices in the maze, generating its chunk if needed
+    @Override
+    public boolean isPath(int x, int y) {
+        if (x >= size - 1 || y >= size - 1) {
+            // the right and bottom walls of the world lie outside of every chunk
+            return false;
+        }
+        return (chunk(x / CHUNK_SIZE, y / CHUNK_SIZE)[y % CHUNK_SIZE] & 1L << x) != 0;
+    }
+
+    // REQUIRES: posX and posY must be in the range [0, size - 1]
+    // MODIFIES: this
+    // EFFECTS: produce the value of the cell with given position in the maze, generating its chunk if needed
+    @Override
+    public boolean isPath(Position pos) {
+        return isPath(pos.getPosX(), pos.getPosY());
+    }
+
+    // EFFECTS: produce the number of words needed to hold a single row of the maze: one per chunk, and one for the
+    //          right wall of the world
+    @Override
+    public int getRowWordCount() {
+        return chunks + 1;
+    }
+
+    // REQUIRES: y must be in the range [0, size - 1] and word must be in the range [0, getRowWordCount() - 1]
+    // MODIFIES: this
+    // EFFECTS: produce the WORD_LENGTH cells of row y that start at x = word * WORD_LENGTH (see ImmutableMaze); that is,
+    //          row y of a chunk
+    @Override
+    public long getRowWord(int y, int word) {
+        if (word == chunks || y == size - 1) {
+            return 0;
+        }
+        return chunk(word, y / CHUNK_SIZE)[y % CHUNK_SIZE];
+    }
+
+    // REQUIRES: chunkX and chunkY must be non-negative, count must be positive, chunkX + count and chunkY + count must
+    //           not exceed getChunks(), and (count * CHUNK_SIZE + 1)^2 must not exceed Integer.MAX_VALUE
+    // MODIFIES: this
+    // EFFECTS: produce a copy of the count * count chunks starting at chunk (chunkX, chunkY), closed off by WALL as a
+    //          Maze is; every chunk of the window is connected to its neighbours, so the copy is solvable
+    public Maze getView(int chunkX, int chunkY, int count) {
+        Maze view = new Maze(count * CHUNK_SIZE + 1);
+        for (int y = 1; y < view.getSize() - 1; y++) {
+            for (int word = 0; word < count; word++) {
+                long bits = getRowWord(chunkY * CHUNK_SIZE + y, chunkX + word);
+                if (word == 0) {
+                    // close off the left wall of the window
+                    bits &= ~1L;
+                }
+                for (; bits != 0; bits &= bits - 1) {
+                    view.setCell(word * WORD_LENGTH + Long.numberOfTrailingZeros(bits), y, Maze.PATH);
+                }
+            }
+        }
+        return view;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the rows of chunk (chunkX, chunkY), generating it if it is not in the cache
+    private long[] chunk(int chunkX, int chunkY) {
+        long key = (long) chunkY << Integer.SIZE | chunkX;
+        if (key == lastKey) {
+            return lastChunk;
+        }
+        long[] rows = cache.get(key);
+        if (rows == null) {
+            rows = generateChunk(chunkX, chunkY);
+            cache.put(key, rows);
+        }
+        lastKey = key;
+        lastChunk = rows;
+        return rows;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the rows of chunk (chunkX, chunkY), which depend only on the seed, generator and coordinates
+    private long[] generateChunk(int chunkX, int chunkY) {
+        long chunkSeed = mix(seed ^ mix((long) chunkY << Integer.SIZE | chunkX));
+        Maze maze = generator.create(CHUNK_MAZE_SIZE, chunkSeed).generateMaze(CHUNK_MAZE_SIZE);
+        long[] rows = new long[CHUNK_SIZE];
+        for (int y = 0; y < CHUNK_SIZE; y++) {
+            rows[y] = maze.getRowWord(y, 0);
+        }
+        if (chunkX > 0) {
+            // door through the left wall, between vertex (1, y) and the last vertex of that row of the chunk to the left
+            rows[door(chunkSeed, 1)] |= 1L;
+        }
+        if (chunkY > 0) {
+            // door through the top wall, between vertex (x, 1) and the last vertex of that column of the chunk above
+            rows[0] |= 1L << door(chunkSeed, 2);
+        }
+        chunksGenerated++;
+        return rows;
+    }
+
+    // EFFECTS: produce the odd coordinate of a door of the chunk with given seed; salt tells the chunk's doors apart
+    private static int door(long chunkSeed, int salt) {
+        return 2 * (int) Long.remainderUnsigned(mix(chunkSeed + salt), VERTICES_PER_CHUNK) + 1;
+    }
+
+    // EFFECTS: produce a well-mixed hash of z (the finalizer of SplitMix64), so that nearby chunks get unrelated seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // EFFECTS: produces a JSON representation of this; chunks are regenerated on demand, so only the parameters of the
+    //          world are recorded (see JsonReader.readChunkedMaze)
+    @Override
+    public JSONObject toJson() {
+        JSONObject obj = new JSONObject();
+        obj.put("size", size);
+        obj.put("seed", seed);
+        obj.put("chunks", chunks);
+        obj.put("generator", generator.name());
+        return obj;
+    }
+}
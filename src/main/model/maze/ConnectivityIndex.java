@@ -0,0 +1,291 @@
+package model.maze;
+
+import model.moveable.Move;
+
+import java.util.Arrays;
+
+// Keeps track of the connected components of the PATH cells of a Maze while it is edited, so that whether two cells
+// are connected (in particular, whether the maze is solvable) and which component a cell is in are answered with a
+// couple of array reads. Every PATH cell is labelled with the id of its component.
+// Opening a cell joins it to the components of its open neighbours by relabelling all but the largest of them (union by
+// size, so that over any sequence of openings each cell is relabelled at most log2(n) times). Blocking a cell can only
+// split its component, and only if two or more of its neighbours are open: the regions around two of them are searched
+// breadth-first in lock-step until the searches meet (they are still connected) or one runs out, in which case the
+// region it covered is split off under a new id. Either way the work is bounded by about twice the smaller region, never
+// by the grid. The maze is scanned once, when the index is made; from then on the maze reports every change to it
+// (see Maze.addCellListener)
+public class ConnectivityIndex implements CellListener {
+
+    // the component of every WALL cell
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Move[] MOVES = Move.values();
+
+    private final Maze maze;
+    private final int size;
+    // the amount that a move in each direction adds to a linear index, by ordinal
+    private final int[] offsets = new int[MOVES.length];
+    // component id of every cell, by linear index
+    private final int[] label;
+    // number of cells in each component, by id; ids of components that were merged away are reused
+    private int[] componentSize = new int[INITIAL_CAPACITY];
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int nextId;
+    private int componentCount;
+    // state of the searches made when a cell is blocked: the cells seen from either side are stamped with epoch and
+    // epoch + 1, respectively, so that nothing needs to be cleared between searches
+    private final int[] stamp;
+    private int epoch;
+    private final CellQueue first = new CellQueue();
+    private final CellQueue second = new CellQueue();
+    private final int[] ends = new int[MOVES.length];
+
+    // REQUIRES: size * size of maze must not exceed Integer.MAX_VALUE; maze must not have cells set concurrently
+    // MODIFIES: maze
+    // EFFECTS: labels the components of maze and starts listening to it for changes
+    public ConnectivityIndex(Maze maze) {
+        this.maze = maze;
+        size = maze.getSize();
+        for (Move move : MOVES) {
+            offsets[move.ordinal()] = maze.getIndexOffset(move);
+        }
+        label = new int[size * size];
+        stamp = new int[size * size];
+        Arrays.fill(label, NONE);
+        for (int cell = 0; cell < label.length; cell++) {
+            if (label[cell] == NONE && maze.isPath(cell)) {
+                int id = newComponent();
+                componentSize[id] = relabel(cell, NONE, id);
+            }
+        }
+        maze.addCellListener(this);
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the id of the component that cell x, y belongs to, or NONE if it is WALL; ids are only
+    //          meaningful until the maze is next changed
+    public int getComponent(int x, int y) {
+        return label[y * size + x];
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the number of cells in the component of cell x, y, or 0 if it is WALL
+    public int getComponentSize(int x, int y) {
+        int id = getComponent(x, y);
+        return id == NONE ? 0 : componentSize[id];
+    }
+
+    // EFFECTS: produce the number of components of PATH cells in the maze
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    // REQUIRES: all coordinates must be in the range [0, size - 1]
+    // EFFECTS: produce true if cells x1, y1 and x2, y2 are PATH and the player can walk between them
+    public boolean isConnected(int x1, int y1, int x2, int y2) {
+        int id = getComponent(x1, y1);
+        return id != NONE && id == getComponent(x2, y2);
+    }
+
+    // EFFECTS: produce true if the goal (size - 2, size - 2) can be reached from the start (1, 1)
+    public boolean isSolvable() {
+        return isConnected(1, 1, size - 2, size - 2);
+    }
+
+    // MODIFIES: this, maze
+    // EFFECTS: stops listening to the maze; this must no longer be used once the maze is changed
+    public void detach() {
+        maze.removeCellListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the components after cell x, y of the maze was set to value
+    @Override
+    public void cellChanged(int x, int y, boolean value) {
+        if (value == Maze.PATH) {
+            open(y * size + x);
+        } else {
+            block(y * size + x);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the newly opened cell to the largest component next to it (or to a component of its own), and
+    //          merges the other components next to it into that one
+    private void open(int cell) {
+        int open = maze.getOpenDirections(cell);
+        int id = NONE;
+        for (Move move : MOVES) {
+            int neighbour = cell + offsets[move.ordinal()];
+            if ((open & move.getMask()) != 0 && (id == NONE || componentSize[label[neighbour]] > componentSize[id])) {
+                id = label[neighbour];
+            }
+        }
+        if (id == NONE) {
+            id = newComponent();
+        }
+        label[cell] = id;
+        componentSize[id]++;
+        for (Move move : MOVES) {
+            int neighbour = cell + offsets[move.ordinal()];
+            int other = label[neighbour];
+            if ((open & move.getMask()) != 0 && other != id) {
+                componentSize[id] += relabel(neighbour, other, id);
+                freeComponent(other);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the newly blocked cell from its component, and splits off every region around its open
+    //          neighbours that is no longer connected to the rest
+    private void block(int cell) {
+        int id = label[cell];
+        label[cell] = NONE;
+        if (--componentSize[id] == 0) {
+            freeComponent(id);
+            return;
+        }
+        int count = 0;
+        int open = maze.getOpenDirections(cell);
+        for (Move move : MOVES) {
+            if ((open & move.getMask()) != 0) {
+                ends[count++] = cell + offsets[move.ordinal()];
+            }
+        }
+        while (count > 1) {
+            CellQueue exhausted = race(ends[0], ends[1]);
+            if (exhausted == null) {
+                // still connected, so ends[1] needs no more checking than ends[0] does
+                ends[1] = ends[--count];
+            } else {
+                splitOff(exhausted, id);
+                count = retainLabelled(count, id);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: searches breadth-first from cells a and b (both PATH) a cell at a time each; produces null if the
+    //          searches meet, or else the queue of the search that ran out, which holds every cell of its region
+    private CellQueue race(int a, int b) {
+        nextEpoch();
+        first.reset(a);
+        second.reset(b);
+        stamp[a] = epoch;
+        stamp[b] = epoch + 1;
+        while (true) {
+            int result = expand(first, epoch, epoch + 1);
+            if (result == 0) {
+                result = expand(second, epoch + 1, epoch);
+            }
+            if (result != 0) {
+                return result < 0 ? null : (first.isEmpty() ? first : second);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: visits the next cell of the search with given queue, whose cells are stamped own; produces -1 if it
+    //          reaches a cell stamped other (the searches met), 1 if the queue was empty (the search ran out), else 0
+    private int expand(CellQueue queue, int own, int other) {
+        if (queue.isEmpty()) {
+            return 1;
+        }
+        int cell = queue.poll();
+        int open = maze.getOpenDirections(cell);
+        for (Move move : MOVES) {
+            int neighbour = cell + offsets[move.ordinal()];
+            if ((open & move.getMask()) != 0 && stamp[neighbour] != own) {
+                if (stamp[neighbour] == other) {
+                    return -1;
+                }
+                stamp[neighbour] = own;
+                queue.add(neighbour);
+            }
+        }
+        return 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves every cell that was ever in queue from component id to a new component
+    private void splitOff(CellQueue queue, int id) {
+        int split = newComponent();
+        for (int i = 0; i < queue.getAddedCount(); i++) {
+            label[queue.getAdded(i)] = split;
+        }
+        componentSize[split] = queue.getAddedCount();
+        componentSize[id] -= queue.getAddedCount();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the first count ends that are no longer in component id and produces how many remain
+    private int retainLabelled(int count, int id) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (label[ends[i]] == id) {
+                ends[kept++] = ends[i];
+            }
+        }
+        return kept;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: gives start and every cell reachable from it through cells labelled from the label to, and produces the
+    //          number of cells relabelled
+    private int relabel(int start, int from, int to) {
+        first.reset(start);
+        label[start] = to;
+        while (!first.isEmpty()) {
+            int cell = first.poll();
+            int open = maze.getOpenDirections(cell);
+            for (Move move : MOVES) {
+                int neighbour = cell + offsets[move.ordinal()];
+                if ((open & move.getMask()) != 0 && label[neighbour] == from) {
+                    label[neighbour] = to;
+                    first.add(neighbour);
+                }
+            }
+        }
+        return first.getAddedCount();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produce the id of a new, empty component
+    private int newComponent() {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nextId++;
+            if (id == componentSize.length) {
+                componentSize = Arrays.copyOf(componentSize, 2 * id);
+            }
+        }
+        componentSize[id] = 0;
+        componentCount++;
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: frees the id of a component that no longer has any cells
+    private void freeComponent(int id) {
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, 2 * freeCount);
+        }
+        freeIds[freeCount++] = id;
+        componentCount--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves on to stamps that no cell has yet, clearing every stamp first if they are about to run out
+    private void nextEpoch() {
+        if (epoch >= Integer.MAX_VALUE - 3) {
+            Arrays.fill(stamp, 0);
+            epoch = 0;
+        }
+        epoch += 2;
+    }
+}
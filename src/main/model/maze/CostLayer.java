@@ -0,0 +1,62 @@
+package model.maze;
+
+import model.path.Position;
+
+// An optional layer of terrain over a maze: the cost of moving onto each cell, an integer in the range
+// [MIN_COST, MAX_COST], stored in a byte per cell. The cost of a walk is the sum of the costs of the cells it moves onto,
+// so on a layer where every cell costs MIN_COST (as every cell of a new layer does) it is just the number of moves.
+// Costs of WALL cells are kept but never used. Since costs start at MIN_COST, a byte holds cost - MIN_COST
+public class CostLayer {
+
+    public static final int MIN_COST = 1;
+    public static final int MAX_COST = MIN_COST + 0xFF;
+
+    private final int size;
+    // cost - MIN_COST of every cell, unsigned, by linear index
+    private final byte[] costs;
+    // no cell costs more than this; never lowered, so that it can be found without a scan
+    private int maxCost = MIN_COST;
+
+    // REQUIRES: size * size must not exceed Integer.MAX_VALUE
+    // EFFECTS: initialize a layer for a maze of given size in which every cell costs MIN_COST
+    public CostLayer(int size) {
+        this.size = size;
+        costs = new byte[size * size];
+    }
+
+    // EFFECTS: produce the side-length of the maze this layer covers
+    public int getSize() {
+        return size;
+    }
+
+    // REQUIRES: index must be in the range [0, size * size - 1]
+    // EFFECTS: produce the cost of moving onto the cell with given linear index
+    public int getCost(int index) {
+        return (costs[index] & 0xFF) + MIN_COST;
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the cost of moving onto cell x, y
+    public int getCost(int x, int y) {
+        return getCost(y * size + x);
+    }
+
+    // REQUIRES: posX and posY must be in the range [0, size - 1]
+    // EFFECTS: produce the cost of moving onto the cell at pos
+    public int getCost(Position pos) {
+        return getCost(pos.getPosX(), pos.getPosY());
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1] and cost must be in the range [MIN_COST, MAX_COST]
+    // MODIFIES: this
+    // EFFECTS: sets the cost of moving onto cell x, y
+    public void setCost(int x, int y, int cost) {
+        costs[y * size + x] = (byte) (cost - MIN_COST);
+        maxCost = Math.max(maxCost, cost);
+    }
+
+    // EFFECTS: produce a cost that no cell exceeds (the largest cost ever set, or MIN_COST if none has been)
+    public int getMaxCost() {
+        return maxCost;
+    }
+}
@@ -0,0 +1,230 @@
+package model.maze;
+
+import model.moveable.Move;
+import model.path.Position;
+
+import java.util.Arrays;
+
+// The length of the shortest walk from every cell of a Maze to the goal (size - 2, size - 2), found by a breadth-first
+// search from the goal when the field is made and then repaired locally as the maze is edited (see
+// Maze.addCellListener), so that the distance from any cell, and a move that brings it closer, are answered with a
+// few array reads. An opened cell takes its distance from its nearest neighbour, and whatever it brings closer is
+// relaxed outwards from it. A blocked cell can only push cells further away: the cells that no longer have a neighbour
+// one step closer to the goal are found level by level outwards from it, and then given new distances from the cells
+// around them, nearest first. Both cost time proportional to the cells whose distances change, not to the grid
+public class DistanceField implements CellListener {
+
+    // the distance of every cell from which the goal cannot be reached, WALL included
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final Move[] MOVES = Move.values();
+
+    private final Maze maze;
+    private final int size;
+    private final int goal;
+    // the amount that a move in each direction adds to a linear index, by ordinal
+    private final int[] offsets = new int[MOVES.length];
+    // distance to the goal of every cell, by linear index
+    private final int[] distance;
+    private final CellQueue queue = new CellQueue();
+    // the cells whose distances a blocked cell invalidated, and their first guesses at new distances (distance in the
+    // high half of each entry, cell in the low half, so that sorting orders them nearest first)
+    private final CellQueue invalidated = new CellQueue();
+    private long[] seeds = new long[MOVES.length];
+
+    // REQUIRES: size * size of maze must not exceed Integer.MAX_VALUE; maze must not have cells set concurrently
+    // MODIFIES: maze
+    // EFFECTS: measures the distance from every cell of maze to its goal and starts listening to it for changes
+    public DistanceField(Maze maze) {
+        this.maze = maze;
+        size = maze.getSize();
+        goal = maze.getIndex(size - 2, size - 2);
+        for (Move move : MOVES) {
+            offsets[move.ordinal()] = maze.getIndexOffset(move);
+        }
+        distance = new int[size * size];
+        Arrays.fill(distance, UNREACHABLE);
+        if (maze.isPath(goal)) {
+            distance[goal] = 0;
+            queue.reset(goal);
+            relaxAll();
+        }
+        maze.addCellListener(this);
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the number of moves it takes to walk from cell x, y to the goal, or UNREACHABLE
+    public int getDistance(int x, int y) {
+        return distance[y * size + x];
+    }
+
+    // REQUIRES: posX and posY must be in the range [0, size - 1]
+    // EFFECTS: produce the number of moves it takes to walk from pos to the goal, or UNREACHABLE
+    public int getDistance(Position pos) {
+        return getDistance(pos.getPosX(), pos.getPosY());
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce a move from cell x, y onto a cell one step closer to the goal, or null if x, y is the goal or
+    //          the goal cannot be reached from it
+    public Move getBestMove(int x, int y) {
+        int cell = y * size + x;
+        if (distance[cell] == 0 || distance[cell] == UNREACHABLE) {
+            return null;
+        }
+        int open = maze.getOpenDirections(cell);
+        for (Move move : MOVES) {
+            if ((open & move.getMask()) != 0 && distance[cell + offsets[move.ordinal()]] == distance[cell] - 1) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    // REQUIRES: posX and posY must be in the range [0, size - 1]
+    // EFFECTS: produce a move from pos onto a cell one step closer to the goal, or null if pos is the goal or the goal
+    //          cannot be reached from it
+    public Move getBestMove(Position pos) {
+        return getBestMove(pos.getPosX(), pos.getPosY());
+    }
+
+    // MODIFIES: this, maze
+    // EFFECTS: stops listening to the maze; this must no longer be used once the maze is changed
+    public void detach() {
+        maze.removeCellListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: repairs the distances after cell x, y of the maze was set to value
+    @Override
+    public void cellChanged(int x, int y, boolean value) {
+        if (value == Maze.PATH) {
+            open(y * size + x);
+        } else {
+            block(y * size + x);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: measures the newly opened cell from its nearest neighbour, and brings closer every cell it shortens the
+    //          walk of
+    private void open(int cell) {
+        int nearest = cell == goal ? 0 : nearestNeighbour(cell);
+        if (nearest != UNREACHABLE) {
+            distance[cell] = cell == goal ? 0 : nearest + 1;
+            queue.reset(cell);
+            relaxAll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks every cell that relied on the newly blocked cell to reach the goal as invalidated, then measures
+    //          them again from the cells around them
+    private void block(int cell) {
+        int old = distance[cell];
+        distance[cell] = UNREACHABLE;
+        if (old == UNREACHABLE) {
+            return;
+        }
+        invalidate(cell, old);
+        int count = 0;
+        for (int i = 0; i < invalidated.getAddedCount(); i++) {
+            int lost = invalidated.getAdded(i);
+            int nearest = nearestNeighbour(lost);
+            if (nearest != UNREACHABLE) {
+                if (count == seeds.length) {
+                    seeds = Arrays.copyOf(seeds, 2 * count);
+                }
+                seeds[count++] = (long) (nearest + 1) << Integer.SIZE | lost;
+            }
+        }
+        Arrays.sort(seeds, 0, count);
+        remeasure(count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: collects in invalidated, and makes UNREACHABLE, every cell with no neighbour one step closer to the goal
+    //          that is not itself invalidated, once cell (which was at distance old) no longer leads anywhere; cells
+    //          are visited a level at a time, so every level has been settled before the one beyond it is checked
+    private void invalidate(int cell, int old) {
+        invalidated.clear();
+        queue.clear();
+        addFurther(cell, old);
+        while (!queue.isEmpty()) {
+            int next = queue.poll();
+            int level = distance[next];
+            if (level != UNREACHABLE && nearestNeighbour(next) != level - 1) {
+                distance[next] = UNREACHABLE;
+                invalidated.add(next);
+                addFurther(next, level);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues the open neighbours of cell that are one step further from the goal than level
+    private void addFurther(int cell, int level) {
+        int open = maze.getOpenDirections(cell);
+        for (Move move : MOVES) {
+            int neighbour = cell + offsets[move.ordinal()];
+            if ((open & move.getMask()) != 0 && distance[neighbour] == level + 1) {
+                queue.add(neighbour);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: gives the invalidated cells their new distances, nearest first: the first count seeds (sorted) are
+    //          merged with the cells the breadth-first search reaches from them, which come out in order of distance
+    private void remeasure(int count) {
+        queue.clear();
+        int next = 0;
+        while (next < count || !queue.isEmpty()) {
+            if (next < count && (queue.isEmpty() || seeds[next] >>> Integer.SIZE <= distance[queue.peek()])) {
+                int cell = (int) seeds[next];
+                int seeded = (int) (seeds[next++] >>> Integer.SIZE);
+                if (seeded < distance[cell]) {
+                    distance[cell] = seeded;
+                    queue.add(cell);
+                }
+            } else {
+                relax(queue.poll());
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: relaxes the cells in the queue, and those they bring closer, until it is empty
+    private void relaxAll() {
+        while (!queue.isEmpty()) {
+            relax(queue.poll());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: brings every open neighbour of cell that is more than a step further from the goal to one step further,
+    //          and queues it
+    private void relax(int cell) {
+        int further = distance[cell] + 1;
+        int open = maze.getOpenDirections(cell);
+        for (Move move : MOVES) {
+            int neighbour = cell + offsets[move.ordinal()];
+            if ((open & move.getMask()) != 0 && distance[neighbour] > further) {
+                distance[neighbour] = further;
+                queue.add(neighbour);
+            }
+        }
+    }
+
+    // EFFECTS: produce the smallest distance among the open neighbours of cell, or UNREACHABLE if there are none
+    private int nearestNeighbour(int cell) {
+        int nearest = UNREACHABLE;
+        int open = maze.getOpenDirections(cell);
+        for (Move move : MOVES) {
+            if ((open & move.getMask()) != 0) {
+                nearest = Math.min(nearest, distance[cell + offsets[move.ordinal()]]);
+            }
+        }
+        return nearest;
+    }
+}
@@ -1,11 +1,20 @@
 package model.maze;
 
+import model.moveable.Move;
 import model.path.Position;
 import persistence.Saveable;
 
-// A square, read-only maze; see class-level comment of Maze for a detailed description
+// A square, read-only maze; see class-level comment of Maze for a detailed description. Besides x, y coordinates, cells
+// can be addressed by a linear index (y * size + x), which lets solvers keep per-cell state in flat primitive arrays
+// and step between neighbours with a single addition (see getIndexOffset). Linear indices are ints, so they only exist
+// for mazes of side-length at most MAX_INDEXED_SIZE; larger mazes (ex. a MappedMaze) must be addressed by coordinates
 public interface ImmutableMaze extends Saveable {
 
+    // number of cells that are packed into each word produced by getRowWord
+    int WORD_LENGTH = Long.SIZE;
+    // the largest side-length for which size * size does not exceed Integer.MAX_VALUE
+    int MAX_INDEXED_SIZE = 46340;
+
     // EFFECTS: produce the side-length of the maze
     int getSize();
 
@@ -16,4 +25,83 @@ public interface ImmutableMaze extends Saveable {
     // REQUIRES: posX and posY must be in the range [0, size - 1]
     // EFFECTS: produce true if the cell with given position in the maze is PATH
     boolean isPath(Position pos);
+
+    // REQUIRES: size * size must not exceed Integer.MAX_VALUE; index must be in the range [0, size * size - 1]
+    // EFFECTS: produce true if the cell with given linear index in the maze is PATH
+    default boolean isPath(int index) {
+        return isPath(index % getSize(), index / getSize());
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the linear index of the cell with given coordinates; throws IllegalArgumentException if the maze
+    //          is too large to be indexed (see isIndexable)
+    default int getIndex(int x, int y) {
+        if (getSize() > MAX_INDEXED_SIZE) {
+            throw new IllegalArgumentException("Maze of size " + getSize() + " is too large for linear indices");
+        }
+        return y * getSize() + x;
+    }
+
+    // EFFECTS: produce true if size * size does not exceed Integer.MAX_VALUE, so every cell has a linear index
+    default boolean isIndexable() {
+        return getSize() <= MAX_INDEXED_SIZE;
+    }
+
+    // EFFECTS: produce the x coordinate of the cell with given linear index
+    default int getX(int index) {
+        return index % getSize();
+    }
+
+    // EFFECTS: produce the y coordinate of the cell with given linear index
+    default int getY(int index) {
+        return index / getSize();
+    }
+
+    // EFFECTS: produce the amount that moving in given direction adds to a cell's linear index
+    default int getIndexOffset(Move move) {
+        return move.getDeltaY() * getSize() + move.getDeltaX();
+    }
+
+    // REQUIRES: size * size must not exceed Integer.MAX_VALUE; index must be in the range [0, size * size - 1]
+    // EFFECTS: produce a 4-bit mask of the directions in which the neighbour of the cell with given linear index is
+    //          PATH; direction move is open iff (mask & move.getMask()) != 0. Neighbours outside the maze are closed
+    default int getOpenDirections(int index) {
+        return getOpenDirections(getX(index), getY(index));
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the open directions of the cell with given coordinates, as getOpenDirections(getIndex(x, y))
+    //          does; needs no linear index, so it works for mazes of any size
+    default int getOpenDirections(int x, int y) {
+        int mask = 0;
+        for (Move move : Move.values()) {
+            int neighbourX = x + move.getDeltaX();
+            int neighbourY = y + move.getDeltaY();
+            if (0 <= neighbourX && neighbourX < getSize() && 0 <= neighbourY && neighbourY < getSize()
+                    && isPath(neighbourX, neighbourY)) {
+                mask |= move.getMask();
+            }
+        }
+        return mask;
+    }
+
+    // EFFECTS: produce the number of words needed to hold a single row of the maze (see getRowWord)
+    default int getRowWordCount() {
+        return (getSize() + WORD_LENGTH - 1) / WORD_LENGTH;
+    }
+
+    // REQUIRES: y must be in the range [0, size - 1] and word must be in the range [0, getRowWordCount() - 1]
+    // EFFECTS: produce the WORD_LENGTH cells of row y that start at x = word * WORD_LENGTH, packed into a long such that
+    //          bit i is set iff cell (word * WORD_LENGTH + i, y) is PATH; bits that fall past the end of the row are 0
+    default long getRowWord(int y, int word) {
+        long bits = 0;
+        int base = word * WORD_LENGTH;
+        int end = Math.min(WORD_LENGTH, getSize() - base);
+        for (int i = 0; i < end; i++) {
+            if (isPath(base + i, y)) {
+                bits |= 1L << i;
+            }
+        }
+        return bits;
+    }
 }
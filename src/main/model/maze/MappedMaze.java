@@ -0,0 +1,204 @@
+package model.maze;
+
+import model.path.Position;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// A square maze whose cells live in a memory-mapped file rather than on the heap, so that mazes with far more cells than
+// would fit on the heap (ex. 100 000 x 100 000) can be generated and saved. Cells use the same layout as Maze (one bit
+// per cell, every row padded out to a whole number of words) behind a small header, but all offsets are longs so the
+// file may be larger than 2 GiB; the file is mapped as a sequence of SEGMENT_BYTES-sized buffers because a single
+// MappedByteBuffer cannot exceed Integer.MAX_VALUE bytes. Edits are written straight through to the file. The solvers
+// keep per-cell state in arrays indexed by int linear indices, so they only accept mazes of side-length at most
+// ImmutableMaze.MAX_INDEXED_SIZE.
+public class MappedMaze implements MutableMaze, Closeable {
+
+    // identifies a file produced by this class; "MAZE" in ASCII
+    private static final int MAGIC = 0x4D415A45;
+    // header layout: magic (int), size (int), reserved (long); keeps every word of the body 8-byte aligned
+    private static final int HEADER_BYTES = 16;
+    // must be a multiple of Long.BYTES so that no word straddles two segments
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int size;
+    private final int wordsPerRow;
+
+    // EFFECTS: maps the given (already validated) file; the body holds size rows of wordsPerRow words each
+    private MappedMaze(Path file, FileChannel channel, FileChannel.MapMode mode, int size) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.size = size;
+        wordsPerRow = (size + WORD_LENGTH - 1) / WORD_LENGTH;
+
+        long length = HEADER_BYTES + (long) size * wordsPerRow * Long.BYTES;
+        segments = new MappedByteBuffer[(int) ((length + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, start, Math.min(SEGMENT_BYTES, length - start));
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    // REQUIRES: size must be odd and at least Maze.MIN_SIZE
+    // EFFECTS: creates (or truncates) file, sizes it to hold a maze with given side-length full of WALL and produces a
+    //          writable maze mapped onto it; throws IOException if the file cannot be created or mapped
+    public static MappedMaze create(Path file, int size) throws IOException {
+        size = Maze.floorOdd(size);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // growing the file zero-fills it, and a cleared bit represents WALL
+        long words = (long) size * ((size + WORD_LENGTH - 1) / WORD_LENGTH);
+        channel.write(ByteBuffer.wrap(new byte[1]), HEADER_BYTES + words * Long.BYTES - 1);
+
+        MappedMaze maze = new MappedMaze(file, channel, FileChannel.MapMode.READ_WRITE, size);
+        maze.segments[0].putInt(0, MAGIC);
+        maze.segments[0].putInt(Integer.BYTES, size);
+        return maze;
+    }
+
+    // EFFECTS: produces a writable maze mapped onto a file produced by create; throws IOException if the file cannot be
+    //          opened or is not a maze file
+    public static MappedMaze open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new MappedMaze(file, channel, FileChannel.MapMode.READ_WRITE, readSize(channel));
+    }
+
+    // EFFECTS: produces a read-only view of a maze file produced by create, which must be closed once it is no longer
+    //          needed (setCell on it throws ReadOnlyBufferException); throws IOException if the file cannot be opened or
+    //          is not a maze file
+    public static MappedMaze openReadOnly(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new MappedMaze(file, channel, FileChannel.MapMode.READ_ONLY, readSize(channel));
+    }
+
+    // EFFECTS: produces the side-length stored in the header of the maze file open in channel; throws IOException if
+    //          the header is missing or malformed
+    private static int readSize(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.read(header, 0) < HEADER_BYTES
+                || header.getInt(0) != MAGIC
+                || header.getInt(Integer.BYTES) < Maze.MIN_SIZE) {
+            channel.close();
+            throw new IOException("Not a maze file");
+        }
+        return header.getInt(Integer.BYTES);
+    }
+
+    // EFFECTS: produce the side-length of the maze
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce true if cell with given indices in the maze is PATH
+    @Override
+    public boolean isPath(int x, int y) {
+        return (getWord(wordOffset(x, y)) & (1L << x)) != 0;
+    }
+
+    // REQUIRES: posX and posY must be in the range [0, size - 1]
+    // EFFECTS: produce true if the cell with given position in the maze is PATH
+    @Override
+    public boolean isPath(Position pos) {
+        return isPath(pos.getPosX(), pos.getPosY());
+    }
+
+    // EFFECTS: produce the number of words needed to hold a single row of the maze
+    @Override
+    public int getRowWordCount() {
+        return wordsPerRow;
+    }
+
+    // REQUIRES: y must be in the range [0, size - 1] and word must be in the range [0, getRowWordCount() - 1]
+    // EFFECTS: produce the WORD_LENGTH cells of row y that start at x = word * WORD_LENGTH (see ImmutableMaze)
+    @Override
+    public long getRowWord(int y, int word) {
+        return getWord(HEADER_BYTES + ((long) y * wordsPerRow + word) * Long.BYTES);
+    }
+
+    // REQUIRES: this was not opened read-only; x and y must be in the range [1, size - 2] and positions (1, 1) and
+    //           (size - 2, size - 2) can only be set to PATH; cells that share a word must not be set concurrently
+    // MODIFIES: this
+    // EFFECTS: set the value of the cell with given indices in the maze (and in the underlying file)
+    @Override
+    public void setCell(int x, int y, boolean value) {
+        long offset = wordOffset(x, y);
+        long word = getWord(offset);
+        putWord(offset, value == Maze.PATH ? word | (1L << x) : word & ~(1L << x));
+    }
+
+    // EFFECTS: produce the byte offset in the file of the word that holds cell x, y
+    private long wordOffset(int x, int y) {
+        return HEADER_BYTES + ((long) y * wordsPerRow + x / WORD_LENGTH) * Long.BYTES;
+    }
+
+    // EFFECTS: produce the word stored at given byte offset in the file
+    private long getWord(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & (SEGMENT_BYTES - 1)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores word at given byte offset in the file
+    private void putWord(long offset, long word) {
+        segments[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & (SEGMENT_BYTES - 1)), word);
+    }
+
+    // EFFECTS: produce the file that backs this maze
+    public Path getFile() {
+        return file;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes all edits made to this maze out to the underlying file
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            if (!segment.isReadOnly()) {
+                segment.force();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes edits and closes the underlying file; the maze must not be used afterwards
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    // EFFECTS: produces a String representation of the maze, in the same notation as Maze.toString; only suitable for
+    //          mazes that are small enough to fit the whole encoding in a String
+    @Override
+    public String toString() {
+        StringBuilder bint = new StringBuilder(size * size); // bint == binary integer
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                bint.append(isPath(x, y) ? '1' : '0');
+            }
+        }
+        return bint.toString();
+    }
+
+    // EFFECTS: produces a JSON representation of this; the cells are already saved in the backing file, so only a
+    //          reference to that file is recorded (see JsonReader.readMappedMaze)
+    @Override
+    public JSONObject toJson() {
+        JSONObject obj = new JSONObject();
+        obj.put("size", size);
+        obj.put("file", file.toAbsolutePath().toString());
+        return obj;
+    }
+}
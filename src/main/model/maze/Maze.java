@@ -1,38 +1,45 @@
 package model.maze;
 
+import model.moveable.Move;
 import model.path.Position;
 import org.json.JSONObject;
-import ui.graphics.Canvas;
 
-import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 // A square Maze; each cell is a boolean (true and false represent PATH and WALL, respectively). A maze is started at
 // the top left, at position (1, 1) and terminate in the bottom right, at position (size - 2, size - 2); the maze
 // does in fact use zero-based indexing, but all Mazes are surrounded by wall (i.e. the top and bottom rows, and
 // left-most and right-most columns are all WALL). All mazes must be solveable starting at the top left. This means
 // that all mazes have PATH at positions (1, 1) and (size - 2, size - 2), and there is some way to move between them.
-public class Maze implements ImmutableMaze {
+public class Maze implements MutableMaze {
 
     // these static variables should be used in the stead of magic constants - they represent how a cell of the Maze
     // should be interpreted. See constructor implementation for reasoning behind these choices
     public static final boolean PATH = true;
     public static final boolean WALL = false;
-    public static final int MAX_SIZE = floorOdd(
-            Toolkit.getDefaultToolkit().getScreenSize().getHeight()
-                    / Canvas.CELL_LENGTH);
     public static final int MIN_SIZE = 7;
 
-    // this class provides an abstraction on top of this 2-dimensional array - all methods use x, y notation instead of
-    // the i, j notation associated with matrices; y determines row while x determines column, so x, y means maze[y][x]
-    private boolean[][] maze;
+    // this class provides an abstraction on top of a bit-packed grid - all methods use x, y notation instead of the
+    // i, j notation associated with matrices; y determines row while x determines column. Every row is padded out to a
+    // whole number of words so that a row can be read WORD_LENGTH cells at a time; cell x, y is bit x % WORD_LENGTH of
+    // cells[y * wordsPerRow + x / WORD_LENGTH]
+    private final int size;
+    private final int wordsPerRow;
+    private final long[] cells;
+    // optional cache of getOpenDirections for every cell (null when disabled); kept up to date by setCell
+    private byte[] openDirections;
+    // notified of every cell that setCell changes (null when there are none, so that generators pay nothing for them)
+    private List<CellListener> listeners;
 
     // REQUIRES: size must be odd and in the range [MazeGame.MIN_SIZE, MazeGame.MAX_SIZE]
     // EFFECTS: set the size of this maze and initialize the maze full of WALL
     public Maze(int size) {
-        size = floorOdd(size);
-        maze = new boolean[size][size];
-        // boolean arrays are initialized to false, so the second part of the effects clause is automatically satisfied
-        // given that WALL == false
+        this.size = floorOdd(size);
+        wordsPerRow = (this.size + WORD_LENGTH - 1) / WORD_LENGTH;
+        cells = new long[this.size * wordsPerRow];
+        // long arrays are initialized to 0, so the second part of the effects clause is automatically satisfied given
+        // that a cleared bit represents WALL
     }
 
     // REQUIRES: size must be an odd integer in the range [MazeGame.MIN_SIZE, MazeGame.MAX_SIZE] and encoding must have
@@ -40,10 +47,14 @@ public class Maze implements ImmutableMaze {
     // MODIFIES: this
     // EFFECTS: sets the size of this and initializes maze with respect to encoding
     public Maze(int size, String encoding) {
-        maze = new boolean[size][size]; // see above constructor for explanation
+        this.size = size;
+        wordsPerRow = (size + WORD_LENGTH - 1) / WORD_LENGTH;
+        cells = new long[size * wordsPerRow]; // see above constructor for explanation
         for (int y = 0; y < size; y++) {
             for (int x = 0; x < size; x++) {
-                maze[y][x] = encoding.charAt(x + y * size) == '0' ? WALL : PATH;
+                if (encoding.charAt(x + y * size) != '0') {
+                    cells[wordIndex(x, y)] |= bit(x);
+                }
             }
         }
     }
@@ -51,29 +62,127 @@ public class Maze implements ImmutableMaze {
     // EFFECTS: produce the side-length of the maze
     @Override
     public int getSize() {
-        return maze.length;
+        return size;
     }
 
     // REQUIRES: x and y must be in the range [0, size - 1]
     // EFFECTS: produce the value of the cell with given indices in the maze
     @Override
     public boolean isPath(int x, int y) {
-        return maze[y][x];
+        return (cells[wordIndex(x, y)] & bit(x)) != 0;
     }
 
     // REQUIRES: posX and posY must be in the range [0, size - 1]
     // EFFECTS: produce the value of the cell with given position in the maze
     @Override
     public boolean isPath(Position pos) {
-        return maze[pos.getPosY()][pos.getPosX()];
+        return isPath(pos.getPosX(), pos.getPosY());
+    }
+
+    // REQUIRES: index must be in the range [0, size * size - 1]
+    // EFFECTS: produce true if the cell with given linear index in the maze is PATH
+    @Override
+    public boolean isPath(int index) {
+        return isPath(index % size, index / size);
+    }
+
+    // REQUIRES: index must be in the range [0, size * size - 1]
+    // EFFECTS: produce a 4-bit mask of the directions in which the neighbour of the cell with given linear index is
+    //          PATH (see ImmutableMaze); a single array read when open directions are cached
+    @Override
+    public int getOpenDirections(int index) {
+        return openDirections != null ? openDirections[index] : MutableMaze.super.getOpenDirections(index);
+    }
+
+    // REQUIRES: x and y must be in the range [0, size - 1]
+    // EFFECTS: produce the open directions of the cell with given coordinates (see ImmutableMaze); a single array read
+    //          when open directions are cached
+    @Override
+    public int getOpenDirections(int x, int y) {
+        return openDirections != null ? openDirections[y * size + x] : MutableMaze.super.getOpenDirections(x, y);
+    }
+
+    // REQUIRES: size * size must not exceed Integer.MAX_VALUE
+    // MODIFIES: this
+    // EFFECTS: if cache is true, precomputes the open directions of every cell and keeps them up to date as cells are
+    //          set, so that getOpenDirections is a single array read (at the cost of a byte per cell); else drops the
+    //          cache
+    public void setOpenDirectionsCached(boolean cache) {
+        if (!cache) {
+            openDirections = null;
+        } else if (openDirections == null) {
+            byte[] masks = new byte[size * size];
+            for (int index = 0; index < masks.length; index++) {
+                masks[index] = (byte) MutableMaze.super.getOpenDirections(index);
+            }
+            openDirections = masks;
+        }
+    }
+
+    // EFFECTS: produce the number of words needed to hold a single row of the maze
+    @Override
+    public int getRowWordCount() {
+        return wordsPerRow;
+    }
+
+    // REQUIRES: y must be in the range [0, size - 1] and word must be in the range [0, getRowWordCount() - 1]
+    // EFFECTS: produce the WORD_LENGTH cells of row y that start at x = word * WORD_LENGTH (see ImmutableMaze)
+    @Override
+    public long getRowWord(int y, int word) {
+        return cells[y * wordsPerRow + word];
     }
 
     // REQUIRES: i and j must be in the range [1, size - 2] (so the surrounding walls cannot be edited) and positions
     // (1, 1) and (size - 2, size - 2) can only be set to PATH
     // MODIFIES: this
     // EFFECTS: set the value of the cell with given indices in the maze
+    @Override
     public void setCell(int x, int y, boolean value) {
-        maze[y][x] = value;
+        boolean changed = listeners != null && isPath(x, y) != value;
+        if (value == PATH) {
+            cells[wordIndex(x, y)] |= bit(x);
+        } else {
+            cells[wordIndex(x, y)] &= ~bit(x);
+        }
+        if (openDirections != null) {
+            updateOpenDirections(x, y, value);
+        }
+        if (changed) {
+            for (CellListener listener : listeners) {
+                listener.cellChanged(x, y, value);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: has listener told of every cell that setCell changes from now on; listeners are called on the thread
+    //          that calls setCell, so a maze with listeners must not have cells set concurrently (see MutableMaze)
+    public void addCellListener(CellListener listener) {
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+        }
+        listeners.add(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops telling listener of changed cells, if it was being told
+    public void removeCellListener(CellListener listener) {
+        if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+            listeners = null;
+        }
+    }
+
+    // REQUIRES: x and y must be in the range [1, size - 2]
+    // MODIFIES: this
+    // EFFECTS: updates the cached open directions of the neighbours of cell x, y after it was set to value; the
+    //          neighbour in direction move sees cell x, y in the opposite direction
+    private void updateOpenDirections(int x, int y, boolean value) {
+        for (Move move : Move.values()) {
+            int neighbour = (y + move.getDeltaY()) * size + x + move.getDeltaX();
+            int mask = move.getOpposite().getMask();
+            openDirections[neighbour] = (byte) (value == PATH ? openDirections[neighbour] | mask
+                                                              : openDirections[neighbour] & ~mask);
+        }
     }
 
 
@@ -81,18 +190,30 @@ public class Maze implements ImmutableMaze {
     // positions (1, 1) and (size - 2, size - 2) can only be set to PATH
     // MODIFIES: this
     // EFFECTS: set the cell with given position to specified value
+    @Override
     public void setCell(Position pos, boolean value) {
-        maze[pos.getPosY()][pos.getPosX()] = value;
+        setCell(pos.getPosX(), pos.getPosY(), value);
+    }
+
+    // EFFECTS: produce the index of the word in cells that holds the cell x, y
+    private int wordIndex(int x, int y) {
+        return y * wordsPerRow + x / WORD_LENGTH;
+    }
+
+    // EFFECTS: produce the mask that selects cell x within its word
+    private static long bit(int x) {
+        // shifts of a long only use the low 6 bits of the shift distance, so this is 1L << (x % WORD_LENGTH)
+        return 1L << x;
     }
 
     // EFFECTS: produces a String representation of the maze represented by this; notation: convert 2d array into
     //          a binary int, with 0 == WALL and 1 == PATH
     @Override
     public String toString() {
-        StringBuilder bint = new StringBuilder(); // bint == binary integer
-        for (int y = 0; y < maze.length; y++) {
-            for (int x = 0; x < maze.length; x++) {
-                bint.append(maze[y][x] == WALL ? 0 : 1);
+        StringBuilder bint = new StringBuilder(size * size); // bint == binary integer
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                bint.append(isPath(x, y) ? '1' : '0');
             }
         }
         return bint.toString();
@@ -102,7 +223,7 @@ public class Maze implements ImmutableMaze {
     @Override
     public JSONObject toJson() {
         JSONObject obj = new JSONObject();
-        obj.put("size", maze.length);
+        obj.put("size", size);
         obj.put("maze", toString());
         return obj;
     }
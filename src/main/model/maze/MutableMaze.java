@@ -0,0 +1,23 @@
+package model.maze;
+
+import model.path.Position;
+
+// A square maze whose cells can be edited; see class-level comment of Maze for a detailed description. Implementations
+// that keep each row in words of its own (MappedMaze, and Maze without its open-directions cache or cell listeners)
+// allow setCell to be called concurrently for cells in different rows, which TiledMazeGenerator relies on
+public interface MutableMaze extends ImmutableMaze {
+
+    // REQUIRES: x and y must be in the range [1, size - 2] (so the surrounding walls cannot be edited) and positions
+    //           (1, 1) and (size - 2, size - 2) can only be set to PATH
+    // MODIFIES: this
+    // EFFECTS: set the value of the cell with given indices in the maze
+    void setCell(int x, int y, boolean value);
+
+    // REQUIRES: posX and posY must be in the range [1, size - 2] (so the surrounding walls cannot be edited) and
+    //           positions (1, 1) and (size - 2, size - 2) can only be set to PATH
+    // MODIFIES: this
+    // EFFECTS: set the cell with given position to specified value
+    default void setCell(Position pos, boolean value) {
+        setCell(pos.getPosX(), pos.getPosY(), value);
+    }
+}
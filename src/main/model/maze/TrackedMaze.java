@@ -0,0 +1,40 @@
+package model.maze;
+
+// A Maze together with the indexes that follow it as it is edited: its open directions are cached, and a
+// ConnectivityIndex and a DistanceField listen to it. Making one scans the whole grid a few times, so the random mazes
+// that are shown to the player are made on a MazePool worker and handed over with their indexes already built
+public class TrackedMaze {
+
+    private final Maze maze;
+    private final ConnectivityIndex connectivity;
+    private final DistanceField distances;
+
+    // REQUIRES: size * size of maze must not exceed Integer.MAX_VALUE; maze must not have cells set concurrently
+    // MODIFIES: maze
+    // EFFECTS: caches the open directions of maze and builds the indexes that track it
+    public TrackedMaze(Maze maze) {
+        this.maze = maze;
+        maze.setOpenDirectionsCached(true);
+        connectivity = new ConnectivityIndex(maze);
+        distances = new DistanceField(maze);
+    }
+
+    public Maze getMaze() {
+        return maze;
+    }
+
+    public ConnectivityIndex getConnectivity() {
+        return connectivity;
+    }
+
+    public DistanceField getDistances() {
+        return distances;
+    }
+
+    // MODIFIES: this, maze
+    // EFFECTS: stops the indexes listening to the maze; they must no longer be used once the maze is changed
+    public void detach() {
+        connectivity.detach();
+        distances.detach();
+    }
+}
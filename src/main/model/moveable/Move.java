@@ -2,5 +2,44 @@ package model.moveable;
 
 // All directions that a Moveable can move in
 public enum Move {
-    UP, DOWN, LEFT, RIGHT
+    UP(0, -1), DOWN(0, 1), LEFT(-1, 0), RIGHT(1, 0);
+
+    private final int deltaX;
+    private final int deltaY;
+
+    // EFFECTS: initialize a direction that changes x by deltaX and y by deltaY
+    Move(int deltaX, int deltaY) {
+        this.deltaX = deltaX;
+        this.deltaY = deltaY;
+    }
+
+    // EFFECTS: produce the change in x caused by moving in this direction
+    public int getDeltaX() {
+        return deltaX;
+    }
+
+    // EFFECTS: produce the change in y caused by moving in this direction
+    public int getDeltaY() {
+        return deltaY;
+    }
+
+    // EFFECTS: produce the bit that represents this direction in an open-directions mask (see ImmutableMaze)
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    // EFFECTS: produce the direction that undoes this one
+    public Move getOpposite() {
+        switch (this) {
+            case UP:
+                return DOWN;
+            case DOWN:
+                return UP;
+            case LEFT:
+                return RIGHT;
+            case RIGHT:
+            default:
+                return LEFT;
+        }
+    }
 }
@@ -20,7 +20,8 @@ public abstract class MoveableEntity implements Saveable {
 
     // EFFECTS: produce true if applying given move does not run this entity into a wall
     protected boolean isValid(Move move) {
-        return maze.isPath(position.applyMove(move));
+        // by coordinates rather than linear index, which would overflow in mazes as large as a ChunkedMaze
+        return (maze.getOpenDirections(position.getPosX(), position.getPosY()) & move.getMask()) != 0;
     }
 
     // MODIFIES: this
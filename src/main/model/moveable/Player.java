@@ -1,19 +1,50 @@
 package model.moveable;
 
+import model.maze.CostLayer;
 import model.maze.ImmutableMaze;
 import model.path.Position;
 
-// An entity that can move within a maze and keeps track of its path
+// An entity that can move within a maze and keeps track of its path, and of what its moves have cost on the maze's
+// terrain (see CostLayer); without terrain, every move costs CostLayer.MIN_COST
 public class Player extends MoveableEntity {
 
+    // the terrain of the maze, or null if there is none
+    private final CostLayer costs;
+    private long travelCost;
+
     // EFFECTS: initialize the player at position (1,1)
     public Player(ImmutableMaze maze) {
         super(maze, new Position(1, 1));
+        costs = null;
     }
 
     // EFFECTS: initialize the player with given path and position
     public Player(ImmutableMaze maze, Position pos) {
         super(maze, pos);
+        costs = null;
+    }
+
+    // REQUIRES: costs must cover a maze of the same size as maze
+    // EFFECTS: initialize the player at position (1,1) of maze, with terrain given by costs
+    public Player(ImmutableMaze maze, CostLayer costs) {
+        super(maze, new Position(1, 1));
+        this.costs = costs;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if moving in specified manner does not run into a wall, apply the move and add the cost of the cell
+    //          moved onto to the travel cost
+    @Override
+    public void tryMove(Move move) {
+        if (isValid(move)) {
+            position = position.applyMove(move);
+            travelCost += costs == null ? CostLayer.MIN_COST : costs.getCost(position);
+        }
+    }
+
+    // EFFECTS: produce the total cost of the moves made so far
+    public long getTravelCost() {
+        return travelCost;
     }
 
 }
@@ -5,21 +5,41 @@ import model.moveable.Move;
 import java.util.*;
 
 // A Path in a Maze; always starts with the PathNode (1,1, null)
+// Nodes are stored as parallel primitive arrays of coordinates and directions, and each position on the path is indexed
+// by the first node at it, so membership tests and node lookups are O(1) rather than scans of the path; PathNodes are
+// only created when a caller asks for one.
 public class Path implements Iterable<PathNode> {
 
-    protected Stack<PathNode> path;
-    protected Set<Position> visited;
+    private static final int INITIAL_CAPACITY = 16;
+    // stored in directions for the head of the path, which was not reached by a move
+    private static final byte NO_DIRECTION = -1;
+    private static final Move[] MOVES = Move.values();
+
+    // node i of the path is (xs[i], ys[i]), reached from node i - 1 by moving in MOVES[directions[i]]
+    private int[] xs;
+    private int[] ys;
+    private byte[] directions;
+    private int length;
+    // the number of leading nodes that have not changed since the last checkpoint; nodes are only ever changed by
+    // removing them, so this is the shortest length the path has had since then
+    private int stableLength;
+    // the number of checkpoints taken so far
+    private int checkpoints;
+    // maps each position on the path to the index of the first node at that position
+    private PositionIndex indices;
+    private PositionIndex visited;
     protected boolean noDuplicatesNodes;
 
     // EFFECTS: start the Path with the Position (1,1) and set that as current node; allows dupes, has no branches, and
     //          has default index
     public Path() {
-        path = new Stack<>();
-        visited = new HashSet<>();
+        xs = new int[INITIAL_CAPACITY];
+        ys = new int[INITIAL_CAPACITY];
+        directions = new byte[INITIAL_CAPACITY];
+        indices = new PositionIndex();
+        visited = new PositionIndex();
 
-        PathNode origin = new PathNode(1, 1, null);
-        path.add(origin);
-        visited.add(origin);
+        append(1, 1, NO_DIRECTION);
 
         noDuplicatesNodes = false;
     }
@@ -36,15 +56,13 @@ public class Path implements Iterable<PathNode> {
     //          node (x, y) to the end of the path, dynamically determining direction attribute for the node, and
     //          recording position as visited
     public void addNode(int posX, int posY) {
-        if (noDuplicatesNodes && containsNode(new Position(posX, posY)))
+        if (noDuplicatesNodes && containsNode(posX, posY))
             return;
 
-        PathNode tail = path.peek();
-        tail = tail.getPosX() == posX ? new PathNode(posX, posY, posY < tail.getPosY() ? Move.UP : Move.DOWN)
-                                      : new PathNode(posX, posY, posX < tail.getPosX() ? Move.LEFT : Move.RIGHT);
-
-        path.add(tail);
-        visited.add(tail);
+        int tailX = xs[length - 1];
+        Move direction = tailX == posX ? (posY < ys[length - 1] ? Move.UP : Move.DOWN)
+                                       : (posX < tailX ? Move.LEFT : Move.RIGHT);
+        append(posX, posY, (byte) direction.ordinal());
     }
 
     // MODIFIES: this
@@ -52,42 +70,113 @@ public class Path implements Iterable<PathNode> {
     //          allow no dupes, do nothing. Else, add the node obtained by moving from tail node in specified direction
     //          to end of path, record resulting position as visited, and reset iteration index.
     public void addNode(Move direction) {
-        if (noDuplicatesNodes && containsNode(path.peek().applyMove(direction)))
+        int posX = xs[length - 1] + direction.getDeltaX();
+        int posY = ys[length - 1] + direction.getDeltaY();
+        if (noDuplicatesNodes && containsNode(posX, posY))
             return;
 
-        PathNode tail = path.peek().applyMove(direction);
-        path.add(tail);
-        visited.add(tail);
+        append(posX, posY, (byte) direction.ordinal());
+    }
+
+    // REQUIRES: path has more than one node
+    // MODIFIES: this
+    // EFFECTS: removes the last node from the path (its position remains visited)
+    public void removeTail() {
+        assert length > 1;
+
+        length--;
+        stableLength = Math.min(stableLength, length);
+        if (indices.get(xs[length], ys[length]) == length) {
+            indices.remove(xs[length], ys[length]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds node (x, y) reached by moving in direction to the end of the path, growing the arrays if they are
+    //          full, and records its position as visited
+    private void append(int posX, int posY, byte direction) {
+        if (length == xs.length) {
+            xs = Arrays.copyOf(xs, length * 2);
+            ys = Arrays.copyOf(ys, length * 2);
+            directions = Arrays.copyOf(directions, length * 2);
+        }
+        xs[length] = posX;
+        ys[length] = posY;
+        directions[length] = direction;
+        if (!indices.contains(posX, posY)) {
+            indices.put(posX, posY, length);
+        }
+        visited.put(posX, posY, 0);
+        length++;
+    }
+
+    // REQUIRES: 0 <= i < getLength()
+    // EFFECTS: produce node i of the path, where node 0 is the head
+    private PathNode nodeAt(int i) {
+        return new PathNode(xs[i], ys[i], directions[i] == NO_DIRECTION ? null : MOVES[directions[i]]);
+    }
+
+    // REQUIRES: 0 <= i < getLength()
+    // EFFECTS: produce the x coordinate of node i of the path
+    int getX(int i) {
+        return xs[i];
+    }
+
+    // REQUIRES: 0 <= i < getLength()
+    // EFFECTS: produce the y coordinate of node i of the path
+    int getY(int i) {
+        return ys[i];
+    }
+
+    // REQUIRES: 0 <= i < getLength()
+    // EFFECTS: produce the ordinal of the direction that node i of the path was reached in, or -1 for the head
+    byte getDirectionOrdinal(int i) {
+        return directions[i];
+    }
+
+    // EFFECTS: produce the number of leading nodes of the path that are unchanged since the checkpoint that produced
+    //          given token, or 0 if there has been another checkpoint since (or token never came from this path)
+    int getStableLength(int token) {
+        return token == checkpoints ? stableLength : 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the current nodes as the ones that getStableLength compares against, and produces a token that
+    //          identifies this checkpoint
+    int checkpoint() {
+        stableLength = length;
+        return ++checkpoints;
     }
 
     // EFFECTS: produce node with specified coordinates; throws IllegalArgumentException if !contains(x, y)
     public PathNode getNode(int x, int y) throws IllegalArgumentException {
-        for (PathNode p : path)
-            if (p.equals(x, y)) return p;
-
-        throw new IllegalArgumentException();
+        int i = indices.get(x, y);
+        if (i == PositionIndex.ABSENT) {
+            throw new IllegalArgumentException();
+        }
+        return nodeAt(i);
     }
 
     // EFFECTS: produce true if this node is in current path
     public boolean containsNode(Position pos) {
-        return path.contains(pos);
+        return containsNode(pos.getPosX(), pos.getPosY());
     }
 
     // EFFECTS: produce true if this node is in current path
     public boolean containsNode(int x, int y) {
-        return containsNode(new Position(x, y));
+        return indices.contains(x, y);
     }
 
     // MODIFIES: this
     // EFFECTS: records that pos has been visited
     public void addVisited(Position pos) {
-        visited.add(pos);
+        visited.put(pos.getPosX(), pos.getPosY(), 0);
     }
 
     // EFFECTS: produce true if this node has been seen in this path before (even if it is not present in the current
     //          path)
     public boolean visitedNode(Position pos) {
-        return visited.contains(pos);
+        return visited.contains(pos.getPosX(), pos.getPosY());
     }
 
     // EFFECTS: produces a list of nodes that are in 'a' but not in 'b', starting from the end of 'a' until a node that
@@ -100,7 +189,8 @@ public class Path implements Iterable<PathNode> {
         PathNode thisNode;
         for (int i = 1; i < a.size(); i++) {
             thisNode = a.get(a.size() - i);
-            if (b.contains(thisNode) && b.get(b.indexOf(thisNode)).getDirection() == thisNode.getDirection()) {
+            int index = b.indexOf(thisNode);
+            if (index >= 0 && b.get(index).getDirection() == thisNode.getDirection()) {
                 if (includeCommon) {
                     difference.add(thisNode);
                 }
@@ -116,12 +206,13 @@ public class Path implements Iterable<PathNode> {
     //          is present in both (with same position and direction) is found; includes the common node iff
     //          includeCommon is true
     public List<PathNode> subtract(List<PathNode> p, boolean includeCommon) {
-        return subtract(path, p, includeCommon);
+        return subtract(getNodes(), p, includeCommon);
     }
 
-    // EFFECTS: produces the list of pathNodes
+    // EFFECTS: produces a read-only view of the pathNodes; it reflects later changes to this, and its indexOf and
+    //          contains are O(1)
     public List<PathNode> getNodes() {
-        return path;
+        return new NodeList();
     }
 
     // EFFECTS: produces true if object is a Path and all nodes in this are present in given path, in same order
@@ -132,17 +223,15 @@ public class Path implements Iterable<PathNode> {
             return false;
         }
 
-        // guard clause - if they are of different lengths or end in different places, then they cannot be equal
+        // guard clause - if they are of different lengths, then they cannot be equal
         Path path = (Path) o;
-        if (this.getLength() != path.getLength() || !this.path.peek().equals(path.getTail())) {
+        if (this.length != path.length) {
             return false;
         }
 
-        Position pos;
-        Iterator<PathNode> pathIter = path.iterator();
-        for (PathNode pathNode : this.path) {
-            pos = pathIter.next();
-            if (pos.getPosX() != pathNode.getPosX() || pos.getPosY() != pathNode.getPosY()) {
+        // compare from the tail back, so paths that end in different places are rejected immediately
+        for (int i = length - 1; i >= 0; i--) {
+            if (xs[i] != path.xs[i] || ys[i] != path.ys[i]) {
                 return false;
             }
         }
@@ -152,18 +241,50 @@ public class Path implements Iterable<PathNode> {
 
     // EFFECTS: produces the position of the last node in the path
     public PathNode getTail() {
-        return path.peek();
+        return nodeAt(length - 1);
     }
 
     // EFFECTS: produce length of this
     public int getLength() {
-        return path.size();
+        return length;
     }
 
     // EFFECTS: returns an iterator for this
     @Override
     public Iterator<PathNode> iterator() {
-        return path.iterator();
+        return getNodes().iterator();
+    }
+
+    // A list view of the nodes of this path
+    private class NodeList extends AbstractList<PathNode> implements RandomAccess {
+
+        @Override
+        public PathNode get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+            return nodeAt(index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+
+        // EFFECTS: produce the index of the first node at the same position as o, or -1 if there is none
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof Position)) {
+                return -1;
+            }
+            Position pos = (Position) o;
+            return indices.get(pos.getPosX(), pos.getPosY());
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
     }
 
 }
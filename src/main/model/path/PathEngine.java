@@ -1,45 +1,113 @@
 package model.path;
 
+import model.moveable.Move;
+
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 // This class handles the logic for path painting; in order to minimize the number of paint calls to Graphics context
 // objects (in particular, this class determines what cells need to be wiped & which need to be painted by computing
 // a diff between what has already been placed and what needs to be placed)
+// The placed nodes are kept in primitive arrays in path order, so the diff is the part of each that follows their
+// longest common prefix. When the same Path object is added repeatedly (ex. by an animated solver), the Path tells us
+// how many of its leading nodes are unchanged since the last call, so the prefix is found without rescanning it and
+// each call costs O(k), where k is the number of nodes that changed.
 public class PathEngine {
 
-    private List<PathNode> placed;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Move[] MOVES = Move.values();
+
+    // the placed nodes, in the order they appear in the most recently added path
+    private int[] placedXs;
+    private int[] placedYs;
+    private byte[] placedDirections;
+    private int placedLength;
+    // the path that was most recently added (or null if none has been), and the token of the checkpoint taken then
+    private Path last;
+    private int checkpoint;
     private List<PathNode> toWipe;
     private List<PathNode> toPlace;
 
     // EFFECTS: initializes this with 0 paths currently placed
     public PathEngine() {
-        placed = new ArrayList<>();
+        placedXs = new int[INITIAL_CAPACITY];
+        placedYs = new int[INITIAL_CAPACITY];
+        placedDirections = new byte[INITIAL_CAPACITY];
     }
 
-    // MODIFIES: this
+    // MODIFIES: this, path
     // EFFECTS: finds the deepest common node in current path and the argument, and computes the minimum number of
     //          cells that need to be placed and wiped (or if current path is empty, just sets it to b the current path)
-    //          when possible, always wipes/replaces the tail because direction may have changed
+    //          when possible, always wipes/replaces the tail because direction may have changed; both lists are in
+    //          order from the tail back, and toPlace ends with the deepest common node
     public void addPath(Path path) {
-        // if this is the first path, then we init vars because there is no need to calculate diff between an empty list
-        // and the given path
-        if (placed.size() == 0) {
-            toWipe = new LinkedList<>();
-            toPlace = path.getNodes();
+        // if this is the first path, then there is no need to calculate diff between an empty list and the given path
+        if (placedLength == 0) {
+            toWipe = new ArrayList<>(0);
+            toPlace = new ArrayList<>(path.getNodes());
+            copyFrom(path, 0);
         } else {
-            toWipe = Path.subtract(placed, path.getNodes(), false);
-            toPlace = path.subtract(placed, true);
-            placed.removeAll(toWipe);
+            int common = commonPrefix(path);
+            toWipe = new ArrayList<>(placedLength - common);
+            for (int i = placedLength - 1; i >= common; i--) {
+                toWipe.add(placedNode(i));
+            }
+            toPlace = new ArrayList<>(path.getLength() - common + 1);
+            for (int i = path.getLength() - 1; i >= Math.max(common - 1, 0); i--) {
+                toPlace.add(new PathNode(path.getX(i), path.getY(i), direction(path.getDirectionOrdinal(i))));
+            }
+            copyFrom(path, common);
+        }
+        last = path;
+        checkpoint = path.checkpoint();
+    }
+
+    // EFFECTS: produce the number of leading nodes that path has in common with the placed nodes (same position and
+    //          direction); starts from the prefix that path reports as unchanged if it was the last path added
+    private int commonPrefix(Path path) {
+        int limit = Math.min(placedLength, path.getLength());
+        int common = path == last ? Math.min(path.getStableLength(checkpoint), limit) : 0;
+        while (common < limit && placedXs[common] == path.getX(common) && placedYs[common] == path.getY(common)
+                && placedDirections[common] == path.getDirectionOrdinal(common)) {
+            common++;
+        }
+        return common;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the placed nodes from index start onwards with the nodes of path from that index onwards
+    private void copyFrom(Path path, int start) {
+        int length = path.getLength();
+        if (length > placedXs.length) {
+            int capacity = Math.max(length, placedXs.length * 2);
+            placedXs = Arrays.copyOf(placedXs, capacity);
+            placedYs = Arrays.copyOf(placedYs, capacity);
+            placedDirections = Arrays.copyOf(placedDirections, capacity);
+        }
+        for (int i = start; i < length; i++) {
+            placedXs[i] = path.getX(i);
+            placedYs[i] = path.getY(i);
+            placedDirections[i] = path.getDirectionOrdinal(i);
         }
-        for (PathNode p : toPlace)
-            if (!placed.contains(p)) placed.add(p);
+        placedLength = length;
     }
 
-    // EFFECTS: produces a list of all cells that are currently placed
+    // EFFECTS: produce placed node i
+    private PathNode placedNode(int i) {
+        return new PathNode(placedXs[i], placedYs[i], direction(placedDirections[i]));
+    }
+
+    // EFFECTS: produce the Move with given ordinal, or null for -1
+    private static Move direction(byte ordinal) {
+        return ordinal < 0 ? null : MOVES[ordinal];
+    }
+
+    // EFFECTS: produces a list of all cells that are currently placed, in path order
     public List<PathNode> getPlaced() {
-        return placed;
+        return new Placed();
     }
 
     // EFFECTS: produces a list of cells that need to be wiped
@@ -51,4 +119,21 @@ public class PathEngine {
     public List<PathNode> getToPlace() {
         return toPlace;
     }
+
+    // A read-only list view of the placed nodes
+    private class Placed extends AbstractList<PathNode> implements RandomAccess {
+
+        @Override
+        public PathNode get(int index) {
+            if (index < 0 || index >= placedLength) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + placedLength);
+            }
+            return placedNode(index);
+        }
+
+        @Override
+        public int size() {
+            return placedLength;
+        }
+    }
 }
@@ -54,10 +54,15 @@ public class Position implements Saveable {
         return posX == x && posY == y;
     }
 
-    // EFFECTS: produce a unique hashcode for this
+    // EFFECTS: produce a unique hashcode for this; the value is that of the digits of posX, then "000", then the digits
+    //          of posY, computed arithmetically rather than by building and parsing a String
     @Override
     public int hashCode() {
-        return Integer.parseInt(posX + "000" + posY);
+        int shift = 10000;
+        for (int y = posY; y >= 10; y /= 10) {
+            shift *= 10;
+        }
+        return posX * shift + posY;
     }
 
     // EFFECTS: produces a JSON representation of this
@@ -0,0 +1,134 @@
+package model.path;
+
+import java.util.Arrays;
+
+// A map from (x, y) positions to non-negative ints, stored in a primitive open-addressing (linear probing) hash table so
+// that no Position objects or boxed Integers are created for lookups; used to index the nodes of paths by position
+public class PositionIndex {
+
+    // produced by get when a position is not in the index
+    public static final int ABSENT = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    // marks an empty slot; no position packs to this key because it would need y == -1 and x == -1
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    // EFFECTS: initialize an empty index
+    public PositionIndex() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // EFFECTS: produce the number of positions in the index
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: produce the value stored for position (x, y), or ABSENT if there is none
+    public int get(int x, int y) {
+        int slot = find(pack(x, y));
+        return slot < 0 ? ABSENT : values[slot];
+    }
+
+    // EFFECTS: produce true if position (x, y) is in the index
+    public boolean contains(int x, int y) {
+        return find(pack(x, y)) >= 0;
+    }
+
+    // REQUIRES: value must be non-negative
+    // MODIFIES: this
+    // EFFECTS: stores value for position (x, y), replacing any value already stored for it
+    public void put(int x, int y, int value) {
+        if (2 * (size + 1) > keys.length) {
+            resize(keys.length * 2);
+        }
+        long key = pack(x, y);
+        int slot = slotOf(key, keys.length);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes position (x, y) from the index if it is present
+    public void remove(int x, int y) {
+        int slot = find(pack(x, y));
+        if (slot < 0) {
+            return;
+        }
+        // backward-shift deletion: move later entries of the probe sequence into the hole so lookups never stop early
+        int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slotOf(keys[next], keys.length);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = EMPTY;
+        size--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes all positions from the index
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    // EFFECTS: produce the slot that holds key, or -1 if key is not in the table
+    private int find(long key) {
+        int slot = slotOf(key, keys.length);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves all entries into tables of given capacity (a power of 2)
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], capacity);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // EFFECTS: produce the home slot of key in a table of given capacity (a power of 2)
+    private static int slotOf(long key, int capacity) {
+        // Fibonacci hashing spreads neighbouring positions across the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (capacity - 1);
+    }
+
+    // EFFECTS: produce a single long that identifies position (x, y)
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,141 @@
+package model.path;
+
+import model.maze.ImmutableMaze;
+import model.moveable.Move;
+
+import java.util.Arrays;
+
+// Answers shortest-path queries between any two PATH cells of a perfect maze (one whose PATH cells form a tree, as
+// every maze made by MazeGenerator does), where the only path between two cells runs through their lowest common
+// ancestor in the tree rooted at the start (1, 1). The tree is rooted once, and every cell keeps its parent, depth and
+// a single jump pointer to a higher ancestor, all in primitive arrays indexed by linear cell index. Jump pointers are
+// laid out in a skew-binary pattern (Myers), so that any ancestor, and so the common ancestor of two cells, is reached
+// in O(log n) jumps, as with binary lifting, but with 3 ints per cell rather than log2(n). A query then costs O(log n),
+// plus the length of the path if it is reconstructed
+public class TreePathIndex {
+
+    private static final Move[] MOVES = Move.values();
+    private static final int UNVISITED = -1;
+
+    private final ImmutableMaze maze;
+    private final int size;
+    // by linear index: the parent of every PATH cell (the root is its own parent, other cells UNVISITED), its depth
+    // below the root, and an ancestor of it that makes the jumps skew-binary
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] jump;
+
+    // REQUIRES: size * size of maze must not exceed Integer.MAX_VALUE, and (1, 1) must be PATH
+    // EFFECTS: roots the tree of PATH cells of maze at (1, 1) and prepares the jump pointers; throws
+    //          IllegalArgumentException if the PATH cells of maze do not form a tree
+    public TreePathIndex(ImmutableMaze maze) {
+        this.maze = maze;
+        size = maze.getSize();
+        parent = new int[size * size];
+        depth = new int[size * size];
+        jump = new int[size * size];
+        int reached = root(maze.getIndex(1, 1));
+        for (int cell = 0; cell < parent.length; cell++) {
+            if (maze.isPath(cell)) {
+                reached--;
+            }
+        }
+        if (reached != 0) {
+            throw new IllegalArgumentException("Maze is not connected");
+        }
+    }
+
+    // REQUIRES: all coordinates must be in the range [0, size - 1], and both cells must be PATH
+    // EFFECTS: produce the number of moves on the path between cells x1, y1 and x2, y2
+    public int getDistance(int x1, int y1, int x2, int y2) {
+        int from = maze.getIndex(x1, y1);
+        int to = maze.getIndex(x2, y2);
+        return depth[from] + depth[to] - 2 * depth[lowestCommonAncestor(from, to)];
+    }
+
+    // REQUIRES: all coordinates must be in the range [0, size - 1], and both cells must be PATH
+    // EFFECTS: produce the linear indices (see ImmutableMaze.getIndex) of the cells on the path from cell x1, y1 to
+    //          cell x2, y2, both included, in order
+    public int[] getPath(int x1, int y1, int x2, int y2) {
+        int from = maze.getIndex(x1, y1);
+        int to = maze.getIndex(x2, y2);
+        int meet = lowestCommonAncestor(from, to);
+        int[] path = new int[depth[from] + depth[to] - 2 * depth[meet] + 1];
+        int front = 0;
+        for (int cell = from; cell != meet; cell = parent[cell]) {
+            path[front++] = cell;
+        }
+        path[front] = meet;
+        int back = path.length - 1;
+        for (int cell = to; cell != meet; cell = parent[cell]) {
+            path[back--] = cell;
+        }
+        return path;
+    }
+
+    // REQUIRES: both cells must be PATH
+    // EFFECTS: produce the linear index of the deepest cell that lies on the paths from both cells to (1, 1)
+    public int lowestCommonAncestor(int a, int b) {
+        a = ancestorAtDepth(a, depth[b]);
+        b = ancestorAtDepth(b, depth[a]);
+        // at equal depths the jumps are laid out alike, so both cells can jump together while that stays below the
+        // common ancestor
+        while (a != b) {
+            if (jump[a] != jump[b]) {
+                a = jump[a];
+                b = jump[b];
+            } else {
+                a = parent[a];
+                b = parent[b];
+            }
+        }
+        return a;
+    }
+
+    // EFFECTS: produce the ancestor of cell at given depth, or cell itself if it is no deeper than that
+    private int ancestorAtDepth(int cell, int target) {
+        while (depth[cell] > target) {
+            cell = depth[jump[cell]] >= target ? jump[cell] : parent[cell];
+        }
+        return cell;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: links every cell reachable from root to its parent breadth-first, so that parents are done before their
+    //          children, and produces the number of cells reached; throws IllegalArgumentException on reaching a cell
+    //          a second time (the cells form a loop)
+    private int root(int root) {
+        Arrays.fill(parent, UNVISITED);
+        parent[root] = root;
+        jump[root] = root;
+        int[] queue = new int[size * size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int cell = queue[head++];
+            int open = maze.getOpenDirections(cell);
+            for (Move move : MOVES) {
+                int child = cell + maze.getIndexOffset(move);
+                if ((open & move.getMask()) != 0 && child != parent[cell]) {
+                    if (parent[child] != UNVISITED) {
+                        throw new IllegalArgumentException("Maze has a loop");
+                    }
+                    link(child, cell);
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return tail;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes cell a child of p: if the jumps from p and from its jump span the same number of levels, the jump
+    //          from cell spans both, else it is just p
+    private void link(int cell, int p) {
+        parent[cell] = p;
+        depth[cell] = depth[p] + 1;
+        int j = jump[p];
+        jump[cell] = depth[p] - depth[j] == depth[j] - depth[jump[j]] ? jump[j] : p;
+    }
+}
@@ -6,109 +6,130 @@ import model.path.Path;
 import model.path.PathNode;
 import model.path.Position;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 // An implementation of the A* search algorithm; pseudocode: https://en.wikipedia.org/wiki/A*_search_algorithm
+// Cells are identified by their index y * size + x, and all per-cell state is kept in primitive arrays indexed by it;
+// the open set is an IndexedHeap, so membership tests and decrease-key are cheap and no boxed scores are created.
+// The constructor throws IllegalArgumentException if size * size of the maze exceeds Integer.MAX_VALUE
 public final class AStar extends MazeSolver {
 
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int NONE = -1;
+
     // this determines how much we weight the length of our path; smaller values mean that we weight our heuristic
     // more, larger values mean we weight the length of our path more (for when we are selecting the best node to
     // explore)
     private double DISTANCE_BETWEEN_NODES = 1;
 
+    private final int size;
+    private final int origin;
+    private final int goal;
     // goal weight is the sum of the x and y of the goal node
     private int goalWeight;
-    private PriorityQueue<PathNode> openSet;
-    private Map<PathNode, PathNode> cameFrom;
-    private Map<PathNode, Double> gScore;
-    private Map<PathNode, Double> fScore;
-    // added and removed keep track of PathNodes that were added to/removed from openSet in the most recent tick
-    // note that we only remove one PathNode each tick
-    private LinkedList<Position> added;
-    private PathNode removed;
+    private IndexedHeap openSet;
+    // cameFrom[i] is the cell we reached cell i from, and gScore[i] the number of steps to cell i on that route
+    private int[] cameFrom;
+    private int[] gScore;
+    // added and removed keep track of cells that were added to/removed from openSet in the most recent tick
+    // note that we only remove one cell each tick
+    private int[] added;
+    private int addedCount;
+    private int removed;
+    // offsets[i] is the amount that moving in direction MOVES[i] adds to a cell index
+    private final int[] offsets;
 
     public AStar(ImmutableMaze maze) {
         super(maze);
-        goalWeight = (2 * maze.getSize()) - 4;
+        requireIndexable(maze);
+        size = maze.getSize();
+        origin = size + 1;
+        goal = size * size - size - 2;
+        goalWeight = (2 * size) - 4;
+        added = new int[MOVES.length];
+        offsets = new int[MOVES.length];
+        for (int i = 0; i < MOVES.length; i++) {
+            offsets[i] = maze.getIndexOffset(MOVES[i]);
+        }
     }
 
     public AStar(ImmutableMaze maze, double weighting) {
-        super(maze);
-        goalWeight = (2 * maze.getSize()) - 4;
+        this(maze);
         DISTANCE_BETWEEN_NODES = weighting;
     }
 
-    // a guess of how short a path would be if it contained p; uses Manhattan distance
-    // EFFECTS: produces distance between p and goal (bottom right corner of maze) using Manhattan distance
-    private double heuristic(Position p) {
+    // a guess of how short a path would be if it contained cell; uses Manhattan distance
+    // EFFECTS: produces distance between cell and goal (bottom right corner of maze) using Manhattan distance
+    private int heuristic(int cell) {
         // since the goal is the bottom right corner, we know that no node could have a greater x + y than the goal so
         // no need for abs value
-        return goalWeight - (p.getPosX() + p.getPosY());
+        return goalWeight - (cell % size + cell / size);
     }
 
-    // Produce a path from origin to p using cameFrom
-    private Path reconstructPath(PathNode current) {
-        LinkedList<PathNode> nodes = new LinkedList<>();
-        nodes.add(current);
-        while (cameFrom.containsKey(current)) {
-            current = cameFrom.get(current);
-            nodes.addFirst(current);
+    // EFFECTS: produces the key that the open set is ordered by for given cell
+    private double fScore(int cell) {
+        return gScore[cell] * DISTANCE_BETWEEN_NODES + heuristic(cell);
+    }
+
+    // Produce a path from origin to cell using cameFrom
+    private Path reconstructPath(int cell) {
+        int[] cells = new int[gScore[cell] + 1];
+        for (int i = cells.length - 1; i >= 0; i--) {
+            cells[i] = cell;
+            cell = cameFrom[cell];
         }
 
         path = new Path();
-        for (PathNode p : nodes) {
-            if (p.getDirection() != null) {
-                path.addNode(p.getPosX(), p.getPosY());
-            }
+        // the first cell is the origin, which every Path already starts with
+        for (int i = 1; i < cells.length; i++) {
+            path.addNode(cells[i] % size, cells[i] / size);
         }
         return path;
     }
 
-    private boolean isGoal(Position p) {
-        return heuristic(p) == 0;
-    }
-
-    private List<PathNode> getNeighbours(PathNode p) {
-        List<PathNode> neighbours = new ArrayList<>(2);
-        for (Move move : MOVES) {
-            PathNode neighbour = p.applyMove(move);
-            if (maze.isPath(neighbour)
-                    && (p.getDirection() == null || !neighbour.applyMove(p.getDirection()).equals(p)))
-                neighbours.add(neighbour);
-        }
-        return neighbours;
-    }
-
+    // EFFECTS: produces the cells that were added to the open set in the most recent tick
     public List<Position> getAdded() {
-        return added;
+        List<Position> positions = new ArrayList<>(addedCount);
+        for (int i = 0; i < addedCount; i++) {
+            positions.add(new Position(added[i] % size, added[i] / size));
+        }
+        return positions;
     }
 
+    // EFFECTS: produces the cell that was removed from the open set in the most recent tick (null before first tick)
     public PathNode getRemoved() {
-        return removed;
+        if (removed == NONE) {
+            return null;
+        }
+        int parent = cameFrom[removed];
+        Move direction = null;
+        if (parent != NONE) {
+            int step = removed - parent;
+            direction = step == 1 ? Move.RIGHT : step == -1 ? Move.LEFT : step > 0 ? Move.DOWN : Move.UP;
+        }
+        return new PathNode(removed % size, removed / size, direction);
     }
 
     @Override
     protected void init() {
         path = null;
-        PathNode origin = new PathNode(1, 1, null);
-
-        openSet = new PriorityQueue<>(maze.getSize() * maze.getSize(), (p1, p2) -> {
-            // if two nodes have the same fscore, we want to take the one that optimizes our heuristic function
-            double compare = fScore.getOrDefault(p1, Double.MAX_VALUE) - fScore.getOrDefault(p2, Double.MAX_VALUE);
-            return (int) (compare != 0 ? compare : heuristic(p1) - heuristic(p2));
-        });
-        openSet.add(origin);
-
-        cameFrom = new HashMap<>();
-
-        gScore = new HashMap<>();
-        gScore.put(origin, 0.0);
+        int cells = size * size;
+        if (openSet == null) {
+            openSet = new IndexedHeap(cells);
+            cameFrom = new int[cells];
+            gScore = new int[cells];
+        }
+        openSet.clear();
+        Arrays.fill(cameFrom, NONE);
+        Arrays.fill(gScore, UNREACHED);
 
-        fScore = new HashMap<>();
-        fScore.put(origin, heuristic(origin));
+        gScore[origin] = 0;
+        openSet.push(origin, fScore(origin), heuristic(origin));
 
-        added = new LinkedList<>();
-        removed = null;
+        addedCount = 0;
+        removed = NONE;
     }
 
     @Override
@@ -120,33 +141,43 @@ public final class AStar extends MazeSolver {
     // EFFECTS: produces null if not yet finished, Path if it is finished
     @Override
     protected Path tick() {
-        PathNode current = openSet.poll();
+        int current = openSet.poll();
 
-        if (isGoal(current))
+        if (current == goal) {
             return reconstructPath(current);
+        }
 
         removed = current;
-        added.clear();
-        openSet.remove(current);
-        for (PathNode neighbour : getNeighbours(current)) {
-            double tentativeGScore = gScore.get(current) + DISTANCE_BETWEEN_NODES;
-            // note: of the below if-statements, the first makes the algorithm completely ignore optimizations that
-            // could be made w.r.t. path length (it just finds a path ASAP); the second makes the algorithm take the
-            // time to update its recorded path whenever it finds that there is a shorter path to get to a particular
-            // node.
-//            if (!gScore.keySet().contains(neighbour)) {
-            if (tentativeGScore < gScore.getOrDefault(neighbour, Double.MAX_VALUE)) {
-                cameFrom.put(neighbour, current);
-                gScore.put(neighbour, tentativeGScore);
-                fScore.put(neighbour, tentativeGScore + heuristic(neighbour));
-                if (!openSet.contains(neighbour)) {
-                    openSet.add(neighbour);
-                    added.add(neighbour);
-                }
+        addedCount = 0;
+        nodesExpanded++;
+        int open = maze.getOpenDirections(current);
+        for (int i = 0; i < MOVES.length; i++) {
+            int next = current + offsets[i];
+            if ((open & MOVES[i].getMask()) != 0 && next != cameFrom[current]) {
+                relax(current, next);
             }
         }
 
         return null;
     }
 
+    // MODIFIES: this
+    // EFFECTS: if going through current gives a shorter route to next than the best one known so far, records it and
+    //          adds next to (or moves it up in) the open set
+    private void relax(int current, int next) {
+        int tentativeGScore = gScore[current] + 1;
+        // note: only relaxing cells that have never been reached (gScore[next] == UNREACHED) would make the algorithm
+        // completely ignore optimizations that could be made w.r.t. path length (it just finds a path ASAP); this version
+        // takes the time to update its recorded path whenever it finds that there is a shorter path to get to a
+        // particular node.
+        if (tentativeGScore < gScore[next]) {
+            cameFrom[next] = current;
+            gScore[next] = tentativeGScore;
+            if (!openSet.contains(next)) {
+                added[addedCount++] = next;
+            }
+            openSet.push(next, fScore(next), heuristic(next));
+        }
+    }
+
 }
@@ -0,0 +1,174 @@
+package model.solver;
+
+import model.maze.CostLayer;
+import model.maze.ImmutableMaze;
+import model.path.Path;
+
+import java.util.Arrays;
+
+// A* over a maze with terrain (see CostLayer), finding a cheapest path rather than a shortest one. Instead of a
+// comparison heap, the open set is a bucket queue (Dial's algorithm): since step costs are small integers and the
+// heuristic (Manhattan distance times MIN_COST) is consistent, the key of a cell added to the queue is never more than
+// maxCost + MIN_COST beyond the key being settled, so a ring of that many + 1 buckets, indexed by key modulo its length,
+// keeps every waiting cell in key order. Pushing is O(1) and the buckets are swept once in key order, so a solve takes
+// time near-linear in the number of cells reached. A cell whose key improves is pushed again, and its stale entry is
+// skipped when its bucket comes around.
+// REQUIRES: costs must cover a maze of the same size; the constructor throws IllegalArgumentException if size * size
+// of the maze exceeds Integer.MAX_VALUE
+public final class DialSolver extends MazeSolver {
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int NONE = -1;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private final CostLayer costs;
+    private final int size;
+    private final int origin;
+    private final int goal;
+    // offsets[i] is the amount that moving in direction MOVES[i] adds to a cell index
+    private final int[] offsets;
+    // by cell: the cell the cheapest known route to it comes from, the cost of that route, and whether it is settled
+    private int[] cameFrom;
+    private int[] gScore;
+    private boolean[] settled;
+    // the ring of buckets; bucket key % buckets.length holds the cells waiting with that key
+    private int[][] buckets;
+    private int[] bucketSize;
+    // the key being settled and the number of entries (stale ones included) waiting in the buckets
+    private int key;
+    private int waiting;
+
+    // EFFECTS: initialize a solver for maze in which every step costs CostLayer.MIN_COST
+    public DialSolver(ImmutableMaze maze) {
+        this(maze, new CostLayer(maze.getSize()));
+    }
+
+    // EFFECTS: initialize a solver for maze with the terrain given by costs
+    public DialSolver(ImmutableMaze maze, CostLayer costs) {
+        super(maze);
+        requireIndexable(maze);
+        this.costs = costs;
+        size = maze.getSize();
+        origin = size + 1;
+        goal = size * size - size - 2;
+        offsets = new int[MOVES.length];
+        for (int i = 0; i < MOVES.length; i++) {
+            offsets[i] = maze.getIndexOffset(MOVES[i]);
+        }
+    }
+
+    // EFFECTS: produce the cost of the path found (the sum of the costs of the cells it moves onto), or
+    //          Integer.MAX_VALUE if none has been
+    public int getPathCost() {
+        return path == null ? UNREACHED : gScore[goal];
+    }
+
+    @Override
+    protected void init() {
+        path = null;
+        int cells = size * size;
+        if (cameFrom == null) {
+            cameFrom = new int[cells];
+            gScore = new int[cells];
+            settled = new boolean[cells];
+        }
+        Arrays.fill(cameFrom, NONE);
+        Arrays.fill(gScore, UNREACHED);
+        Arrays.fill(settled, false);
+        // the ring is sized when the solve starts, since costs may have been raised since the last one
+        buckets = new int[costs.getMaxCost() + CostLayer.MIN_COST + 1][INITIAL_BUCKET_CAPACITY];
+        bucketSize = new int[buckets.length];
+        waiting = 0;
+
+        gScore[origin] = 0;
+        key = heuristic(origin);
+        push(origin, key);
+    }
+
+    @Override
+    protected boolean isSolved() {
+        return path != null || waiting == 0;
+    }
+
+    // main loop of algorithm
+    // EFFECTS: settles the cheapest waiting cell; produces the solution once it is the goal, else null
+    @Override
+    protected Path tick() {
+        int current = poll();
+        if (current == NONE) {
+            return null;
+        }
+        if (current == goal) {
+            return reconstructPath();
+        }
+        settled[current] = true;
+        nodesExpanded++;
+        int open = maze.getOpenDirections(current);
+        for (int i = 0; i < MOVES.length; i++) {
+            int next = current + offsets[i];
+            if ((open & MOVES[i].getMask()) != 0 && !settled[next]) {
+                int tentativeGScore = gScore[current] + costs.getCost(next);
+                if (tentativeGScore < gScore[next]) {
+                    cameFrom[next] = current;
+                    gScore[next] = tentativeGScore;
+                    push(next, tentativeGScore + heuristic(next));
+                }
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: produces the Manhattan distance between cell and the goal, times the cheapest cost of a step
+    private int heuristic(int cell) {
+        return CostLayer.MIN_COST * (2 * (size - 2) - (cell % size + cell / size));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds cell to the bucket for given key
+    private void push(int cell, int cellKey) {
+        int bucket = cellKey % buckets.length;
+        if (bucketSize[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], 2 * bucketSize[bucket]);
+        }
+        buckets[bucket][bucketSize[bucket]++] = cell;
+        waiting++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes and produces a waiting cell with the smallest key, skipping stale entries, or produces NONE if
+    //          there are none left
+    private int poll() {
+        while (waiting > 0) {
+            int bucket = key % buckets.length;
+            while (bucketSize[bucket] > 0) {
+                int cell = buckets[bucket][--bucketSize[bucket]];
+                waiting--;
+                if (!settled[cell] && gScore[cell] + heuristic(cell) == key) {
+                    return cell;
+                }
+            }
+            key++;
+        }
+        return NONE;
+    }
+
+    // Produce a path from origin to the goal using cameFrom
+    private Path reconstructPath() {
+        int length = 0;
+        for (int cell = goal; cell != origin; cell = cameFrom[cell]) {
+            length++;
+        }
+        int[] cells = new int[length + 1];
+        int cell = goal;
+        for (int i = length; i >= 0; i--) {
+            cells[i] = cell;
+            cell = cameFrom[cell];
+        }
+        path = new Path();
+        // the first cell is the origin, which every Path already starts with
+        for (int i = 1; i < cells.length; i++) {
+            path.addNode(cells[i] % size, cells[i] / size);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,159 @@
+package model.solver;
+
+import java.util.Arrays;
+
+// A binary min-heap of int items in the range [0, capacity), ordered by a primary key with ties broken by a secondary
+// key. Unlike java.util.PriorityQueue, the heap knows where each item is stored, so contains is O(1) and the key of an
+// item that is already in the heap can be changed (ex. decrease-key) or the item removed in O(log n); keys are kept in
+// primitive arrays, so no boxing takes place.
+public final class IndexedHeap {
+
+    private static final int ABSENT = -1;
+
+    // heap[0 .. size - 1] is the heap itself; position[item] is the index of item in heap, or ABSENT
+    private final int[] heap;
+    private final int[] position;
+    private final double[] primary;
+    private final double[] secondary;
+    private int size;
+
+    // EFFECTS: initialize an empty heap that can hold items in the range [0, capacity)
+    public IndexedHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        primary = new double[capacity];
+        secondary = new double[capacity];
+        Arrays.fill(position, ABSENT);
+    }
+
+    // EFFECTS: produce true if there are no items in the heap
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // EFFECTS: produce the number of items in the heap
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: item must be in the range [0, capacity)
+    // EFFECTS: produce true if item is in the heap
+    public boolean contains(int item) {
+        return position[item] != ABSENT;
+    }
+
+    // REQUIRES: item must be in the range [0, capacity)
+    // MODIFIES: this
+    // EFFECTS: if item is in the heap, changes its keys to the ones given; else adds item to the heap with given keys
+    public void push(int item, double primaryKey, double secondaryKey) {
+        boolean present = contains(item);
+        if (!present) {
+            position[item] = size;
+            heap[size++] = item;
+        }
+        primary[item] = primaryKey;
+        secondary[item] = secondaryKey;
+        siftUp(position[item]);
+        if (present) {
+            siftDown(position[item]);
+        }
+    }
+
+    // REQUIRES: heap is not empty
+    // EFFECTS: produce the item with the smallest keys
+    public int peek() {
+        return heap[0];
+    }
+
+    // REQUIRES: heap is not empty
+    // EFFECTS: produce the primary key of the item with the smallest keys
+    public double peekPrimary() {
+        return primary[heap[0]];
+    }
+
+    // REQUIRES: heap is not empty
+    // EFFECTS: produce the secondary key of the item with the smallest keys
+    public double peekSecondary() {
+        return secondary[heap[0]];
+    }
+
+    // REQUIRES: heap is not empty
+    // MODIFIES: this
+    // EFFECTS: removes the item with the smallest keys from the heap and produces it
+    public int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes item from the heap if it is present
+    public void remove(int item) {
+        int index = position[item];
+        if (index == ABSENT) {
+            return;
+        }
+        position[item] = ABSENT;
+        int last = heap[--size];
+        if (index < size) {
+            heap[index] = last;
+            position[last] = index;
+            siftUp(index);
+            siftDown(position[last]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes all items from the heap
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    // EFFECTS: produce true if item a has smaller keys than item b
+    private boolean less(int a, int b) {
+        return primary[a] < primary[b] || (primary[a] == primary[b] && secondary[a] < secondary[b]);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the item at given heap index up until its parent is no larger than it
+    private void siftUp(int index) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!less(item, heap[parent])) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(item, index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the item at given heap index down until neither of its children is smaller than it
+    private void siftDown(int index) {
+        int item = heap[index];
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], item)) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(item, index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores item at given heap index
+    private void place(int item, int index) {
+        heap[index] = item;
+        position[item] = index;
+    }
+}
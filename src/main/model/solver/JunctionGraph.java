@@ -0,0 +1,161 @@
+package model.solver;
+
+import model.maze.ImmutableMaze;
+import model.moveable.Move;
+import model.path.Path;
+
+import java.util.Arrays;
+
+// The PATH cells of a maze with every corridor contracted away: the nodes are the junctions and dead ends (the cells
+// that do not have exactly two open neighbours), plus the start (1, 1) and goal (size - 2, size - 2), and each edge is
+// a corridor between two nodes, weighted by its number of moves. Edges are stored in compressed sparse row form: the
+// edges leaving node n are edges [getEdgeStart(n), getEdgeStart(n + 1)), and each remembers the direction of its first
+// move so that it can be walked again to expand it back into cells. A corridor is stored once from either end (a
+// corridor that loops back to where it started, twice from the same end). Corridors that never reach a node (rings of
+// corridor cells) cannot be reached from the start, and are left out
+// REQUIRES: size * size of the maze must not exceed Integer.MAX_VALUE
+public final class JunctionGraph {
+
+    public static final int NONE = -1;
+
+    private static final Move[] MOVES = Move.values();
+
+    private final ImmutableMaze maze;
+    // the amount that a move in each direction adds to a linear index, by ordinal
+    private final int[] offsets = new int[MOVES.length];
+    // the node at every cell (NONE if there is none), by linear index, and the cell of every node
+    private final int[] nodeOf;
+    private final int[] nodeCell;
+    // compressed sparse rows: edgeStart[n] is the first edge leaving node n; per edge, the node it leads to, its number
+    // of moves, and the ordinal of its first move
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeWeight;
+    private final byte[] edgeMove;
+
+    // EFFECTS: contracts the corridors of maze; the graph reflects the maze as it is now, and must be made again if
+    //          the maze is changed
+    public JunctionGraph(ImmutableMaze maze) {
+        this.maze = maze;
+        int size = maze.getSize();
+        for (Move move : MOVES) {
+            offsets[move.ordinal()] = maze.getIndexOffset(move);
+        }
+        nodeOf = new int[size * size];
+        nodeCell = findNodes(maze.getIndex(1, 1), maze.getIndex(size - 2, size - 2));
+        edgeStart = new int[nodeCell.length + 1];
+        for (int node = 0; node < nodeCell.length; node++) {
+            edgeStart[node + 1] = edgeStart[node] + Integer.bitCount(maze.getOpenDirections(nodeCell[node]));
+        }
+        edgeTarget = new int[edgeStart[nodeCell.length]];
+        edgeWeight = new int[edgeTarget.length];
+        edgeMove = new byte[edgeTarget.length];
+        for (int node = 0; node < nodeCell.length; node++) {
+            addEdges(node);
+        }
+    }
+
+    // EFFECTS: produce the number of nodes
+    public int getNodeCount() {
+        return nodeCell.length;
+    }
+
+    // EFFECTS: produce the number of edges (twice the number of corridors)
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    // REQUIRES: cell must be in the range [0, size * size - 1]
+    // EFFECTS: produce the node at cell with given linear index, or NONE if it is not a node
+    public int getNode(int cell) {
+        return nodeOf[cell];
+    }
+
+    // REQUIRES: node must be in the range [0, getNodeCount() - 1]
+    // EFFECTS: produce the linear index of the cell of node
+    public int getCell(int node) {
+        return nodeCell[node];
+    }
+
+    // REQUIRES: node must be in the range [0, getNodeCount()]
+    // EFFECTS: produce the index of the first edge leaving node (or, for getNodeCount(), the number of edges)
+    public int getEdgeStart(int node) {
+        return edgeStart[node];
+    }
+
+    // REQUIRES: edge must be in the range [0, getEdgeCount() - 1]
+    // EFFECTS: produce the node that edge leads to
+    public int getTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    // REQUIRES: edge must be in the range [0, getEdgeCount() - 1]
+    // EFFECTS: produce the number of moves along edge
+    public int getWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    // REQUIRES: edge must be in the range [0, getEdgeCount() - 1] and path must end at the cell that edge leaves
+    // MODIFIES: path
+    // EFFECTS: adds the cells of the corridor along edge to path, up to and including the cell of its target
+    public void expand(int edge, Path path) {
+        int move = edgeMove[edge];
+        int cell = path.getTail().getPosX() + path.getTail().getPosY() * maze.getSize() + offsets[move];
+        path.addNode(maze.getX(cell), maze.getY(cell));
+        while (nodeOf[cell] == NONE) {
+            move = nextMove(cell, move);
+            cell += offsets[move];
+            path.addNode(maze.getX(cell), maze.getY(cell));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: numbers the PATH cells that are nodes in index order (start and goal always are) and produces the cell
+    //          of each
+    private int[] findNodes(int start, int goal) {
+        Arrays.fill(nodeOf, NONE);
+        int[] cells = new int[16];
+        int count = 0;
+        for (int cell = 0; cell < nodeOf.length; cell++) {
+            if (maze.isPath(cell)
+                    && (Integer.bitCount(maze.getOpenDirections(cell)) != 2 || cell == start || cell == goal)) {
+                if (count == cells.length) {
+                    cells = Arrays.copyOf(cells, 2 * count);
+                }
+                nodeOf[cell] = count;
+                cells[count++] = cell;
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: walks the corridor that leaves node in each open direction, recording an edge to the node it ends at
+    private void addEdges(int node) {
+        int edge = edgeStart[node];
+        int open = maze.getOpenDirections(nodeCell[node]);
+        for (Move first : MOVES) {
+            if ((open & first.getMask()) == 0) {
+                continue;
+            }
+            int move = first.ordinal();
+            int cell = nodeCell[node] + offsets[move];
+            int weight = 1;
+            while (nodeOf[cell] == NONE) {
+                move = nextMove(cell, move);
+                cell += offsets[move];
+                weight++;
+            }
+            edgeTarget[edge] = nodeOf[cell];
+            edgeWeight[edge] = weight;
+            edgeMove[edge++] = (byte) first.ordinal();
+        }
+    }
+
+    // REQUIRES: cell must be a corridor cell (exactly two open neighbours), entered by the move with given ordinal
+    // EFFECTS: produce the ordinal of the move that leaves cell without going back
+    private int nextMove(int cell, int move) {
+        int back = MOVES[move].getOpposite().getMask();
+        return Integer.numberOfTrailingZeros(maze.getOpenDirections(cell) & ~back);
+    }
+}
@@ -0,0 +1,106 @@
+package model.solver;
+
+import model.maze.ImmutableMaze;
+import model.path.Path;
+
+import java.util.Arrays;
+
+// A* over the JunctionGraph of the maze rather than over its cells: each tick settles a junction or dead end, and the
+// corridors between them are crossed in a single relaxation, so a generated maze (mostly corridors) is searched in a
+// fraction of the ticks and with no per-cell objects. The graph is built again each time a solve begins, since the maze
+// may have been edited; the solution is expanded back into a Path of cells once the goal is settled. The heuristic is
+// the Manhattan distance to the goal, which no corridor can beat, so the path found is a shortest one
+// The constructor throws IllegalArgumentException if size * size of the maze exceeds Integer.MAX_VALUE
+public final class JunctionSolver extends MazeSolver {
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final int size;
+    private JunctionGraph graph;
+    private int goal;
+    private IndexedHeap openSet;
+    // by node: the node and edge that the best known route to it ends with (JunctionGraph.NONE for the start), and its
+    // length in moves
+    private int[] cameFrom;
+    private int[] cameBy;
+    private int[] gScore;
+
+    public JunctionSolver(ImmutableMaze maze) {
+        super(maze);
+        requireIndexable(maze);
+        size = maze.getSize();
+    }
+
+    // EFFECTS: produce the graph that the current solve runs on (null before the first solve)
+    public JunctionGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    protected void init() {
+        path = null;
+        graph = new JunctionGraph(maze);
+        int nodes = graph.getNodeCount();
+        openSet = new IndexedHeap(nodes);
+        cameFrom = new int[nodes];
+        cameBy = new int[nodes];
+        gScore = new int[nodes];
+        Arrays.fill(gScore, UNREACHED);
+
+        int origin = graph.getNode(maze.getIndex(1, 1));
+        goal = graph.getNode(maze.getIndex(size - 2, size - 2));
+        cameFrom[origin] = JunctionGraph.NONE;
+        gScore[origin] = 0;
+        openSet.push(origin, heuristic(origin), heuristic(origin));
+    }
+
+    @Override
+    protected boolean isSolved() {
+        return path != null || openSet.isEmpty();
+    }
+
+    // main loop of algorithm
+    // EFFECTS: settles the most promising node; produces the solution once it is the goal, else null
+    @Override
+    protected Path tick() {
+        int current = openSet.poll();
+        if (current == goal) {
+            return reconstructPath(current);
+        }
+        nodesExpanded++;
+        for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeStart(current + 1); edge++) {
+            int next = graph.getTarget(edge);
+            int tentativeGScore = gScore[current] + graph.getWeight(edge);
+            if (tentativeGScore < gScore[next]) {
+                cameFrom[next] = current;
+                cameBy[next] = edge;
+                gScore[next] = tentativeGScore;
+                openSet.push(next, tentativeGScore + heuristic(next), heuristic(next));
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: produces the Manhattan distance from the cell of node to the goal
+    private int heuristic(int node) {
+        int cell = graph.getCell(node);
+        return 2 * (size - 2) - (cell % size + cell / size);
+    }
+
+    // EFFECTS: produces the path of cells from the start to node, walking the corridors of the route found to it
+    private Path reconstructPath(int node) {
+        int hops = 0;
+        for (int at = node; cameFrom[at] != JunctionGraph.NONE; at = cameFrom[at]) {
+            hops++;
+        }
+        int[] edges = new int[hops];
+        for (int at = node; cameFrom[at] != JunctionGraph.NONE; at = cameFrom[at]) {
+            edges[--hops] = cameBy[at];
+        }
+        path = new Path();
+        for (int edge : edges) {
+            graph.expand(edge, path);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,213 @@
+package model.solver;
+
+import model.maze.CellListener;
+import model.maze.ImmutableMaze;
+import model.maze.Maze;
+import model.path.Path;
+
+import java.util.Arrays;
+
+// Lifelong Planning A* (Koenig, Likhachev & Furcy): an A* that keeps its search between solves and, when cells of the
+// maze flip between PATH and WALL, repairs only the part of it that the change affects, so that solving again after an
+// edit costs time proportional to the cells whose distance from the start changed rather than to the maze.
+// Every cell has g (its distance from the start as last settled) and rhs (one more than the best g among its open
+// neighbours, 0 for the start); a cell whose two disagree is inconsistent and waits in the open set, ordered by
+// [min(g, rhs) + h; min(g, rhs)] with h the Manhattan distance to the goal. Each tick settles the first of them; a
+// solve is over once the goal is consistent and no waiting cell comes before it. Changes are learned of by listening to
+// the maze once attach is called (see Maze.addCellListener); until then, or if the maze cannot be listened to, it is
+// searched again from scratch each solve. Solvers are not attached when made, so that one that is dropped is not kept
+// reachable (and notified of every edit) by its maze. Cells must not be changed while a solve is in progress.
+// The constructor throws IllegalArgumentException if size * size of the maze exceeds Integer.MAX_VALUE
+public final class LPAStar extends MazeSolver implements CellListener {
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final int size;
+    private final int origin;
+    private final int goal;
+    // offsets[i] is the amount that moving in direction MOVES[i] adds to a cell index
+    private final int[] offsets;
+    private int[] g;
+    private int[] rhs;
+    private IndexedHeap openSet;
+    // true while the solver is listening to the maze
+    private boolean attached;
+    // true once the search has been started, so that later solves repair it instead of starting again
+    private boolean started;
+    private boolean finished;
+
+    // EFFECTS: initialize a solver for maze; it does not listen to the maze until attach is called
+    public LPAStar(ImmutableMaze maze) {
+        super(maze);
+        requireIndexable(maze);
+        size = maze.getSize();
+        origin = size + 1;
+        goal = size * size - size - 2;
+        offsets = new int[MOVES.length];
+        for (int i = 0; i < MOVES.length; i++) {
+            offsets[i] = maze.getIndexOffset(MOVES[i]);
+        }
+    }
+
+    // MODIFIES: this, maze
+    // EFFECTS: if the maze is a Maze and this is not already listening to it, starts listening to it, so that each
+    //          later solve only repairs what edits since the previous one changed; the next solve starts from scratch,
+    //          since edits made before now were not seen. Call detach once the solver is no longer needed
+    public void attach() {
+        if (maze instanceof Maze && !attached) {
+            ((Maze) maze).addCellListener(this);
+            attached = true;
+            started = false;
+        }
+    }
+
+    // MODIFIES: this, maze
+    // EFFECTS: stops listening to the maze, so that every later solve starts from scratch
+    public void detach() {
+        if (attached) {
+            ((Maze) maze).removeCellListener(this);
+            attached = false;
+        }
+        started = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks cell x, y and its neighbours for repair, if a search has been started
+    @Override
+    public void cellChanged(int x, int y, boolean value) {
+        if (started) {
+            int cell = maze.getIndex(x, y);
+            updateCell(cell);
+            updateNeighbours(cell);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the search if it has not been (or cannot be kept), else carries on from where the last solve
+    //          left it, with whatever repairs edits since have queued; finishes at once if there are none to make
+    @Override
+    protected void init() {
+        if (!started || !attached) {
+            start();
+        }
+        checkFinished();
+    }
+
+    @Override
+    protected boolean isSolved() {
+        return finished;
+    }
+
+    // main loop of algorithm
+    // EFFECTS: settles the first inconsistent cell: an overconsistent one takes its rhs as its distance, and an
+    //          underconsistent one forgets its distance; produces the solution once the solve is over, else null
+    @Override
+    protected Path tick() {
+        int current = openSet.poll();
+        nodesExpanded++;
+        if (g[current] > rhs[current]) {
+            g[current] = rhs[current];
+        } else {
+            g[current] = INFINITY;
+            updateCell(current);
+        }
+        updateNeighbours(current);
+        checkFinished();
+        return path;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets every distance and queues the start
+    private void start() {
+        int cells = size * size;
+        if (openSet == null) {
+            openSet = new IndexedHeap(cells);
+            g = new int[cells];
+            rhs = new int[cells];
+        }
+        openSet.clear();
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        rhs[origin] = 0;
+        updateCell(origin);
+        started = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes the rhs of cell and queues it if it is inconsistent (or takes it out of the queue if not)
+    private void updateCell(int cell) {
+        if (cell != origin) {
+            rhs[cell] = maze.isPath(cell) ? bestNeighbour(cell) : INFINITY;
+        }
+        if (g[cell] != rhs[cell]) {
+            int distance = Math.min(g[cell], rhs[cell]);
+            openSet.push(cell, (double) distance + heuristic(cell), distance);
+        } else {
+            openSet.remove(cell);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates every open neighbour of cell
+    private void updateNeighbours(int cell) {
+        int open = maze.getOpenDirections(cell);
+        for (int i = 0; i < MOVES.length; i++) {
+            if ((open & MOVES[i].getMask()) != 0) {
+                updateCell(cell + offsets[i]);
+            }
+        }
+    }
+
+    // EFFECTS: produces one more than the smallest g among the open neighbours of cell, or INFINITY if none is reached
+    private int bestNeighbour(int cell) {
+        int best = INFINITY;
+        int open = maze.getOpenDirections(cell);
+        for (int i = 0; i < MOVES.length; i++) {
+            if ((open & MOVES[i].getMask()) != 0) {
+                best = Math.min(best, g[cell + offsets[i]]);
+            }
+        }
+        return best == INFINITY ? INFINITY : best + 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the goal is consistent and no waiting cell comes before it, ends the solve, producing the path to the
+    //          goal (or null if it cannot be reached)
+    private void checkFinished() {
+        int distance = Math.min(g[goal], rhs[goal]);
+        double goalKey = distance == INFINITY ? Double.POSITIVE_INFINITY : (double) distance + heuristic(goal);
+        boolean waiting = !openSet.isEmpty() && (openSet.peekPrimary() < goalKey
+                || (openSet.peekPrimary() == goalKey && openSet.peekSecondary() < distance));
+        finished = !waiting && g[goal] == rhs[goal];
+        path = finished && g[goal] != INFINITY ? reconstructPath() : null;
+    }
+
+    // EFFECTS: produces the Manhattan distance between cell and the goal
+    private int heuristic(int cell) {
+        return 2 * (size - 2) - (cell % size + cell / size);
+    }
+
+    // REQUIRES: the goal is reached and consistent
+    // EFFECTS: produces a shortest path from the origin to the goal, by walking back from the goal to a neighbour one
+    //          step closer to the start each time
+    private Path reconstructPath() {
+        int[] cells = new int[g[goal] + 1];
+        int cell = goal;
+        for (int i = cells.length - 1; i > 0; i--) {
+            cells[i] = cell;
+            int open = maze.getOpenDirections(cell);
+            for (int j = 0; j < MOVES.length; j++) {
+                if ((open & MOVES[j].getMask()) != 0 && g[cell + offsets[j]] == g[cell] - 1) {
+                    cell += offsets[j];
+                    break;
+                }
+            }
+        }
+        Path result = new Path();
+        // the first cell is the origin, which every Path already starts with
+        for (int i = 1; i < cells.length; i++) {
+            result.addNode(cells[i] % size, cells[i] / size);
+        }
+        return result;
+    }
+}
@@ -17,6 +17,9 @@ public abstract class MazeSolver implements Iterable<Path> {
     public static final Move[] MOVES = {Move.LEFT, Move.UP, Move.RIGHT, Move.DOWN}; //{Move.DOWN, Move.RIGHT, Move.UP, Move.LEFT};
     protected ImmutableMaze maze;
     protected Path path;
+    // the number of times a cell's neighbours have been examined since the solve began (a cell that is examined again
+    // after being left counts again); updated by subclasses
+    protected int nodesExpanded;
 
     // MODIFIES: this
     // EFFECTS: set maze to be solved
@@ -24,6 +27,15 @@ public abstract class MazeSolver implements Iterable<Path> {
         this.maze = maze;
     }
 
+    // EFFECTS: throws IllegalArgumentException if maze is too large for its cells to have int linear indices, which
+    //          solvers that keep per-cell state in arrays indexed by them need (see ImmutableMaze.isIndexable)
+    protected static void requireIndexable(ImmutableMaze maze) {
+        if (!maze.isIndexable()) {
+            throw new IllegalArgumentException("Maze of size " + maze.getSize() + " exceeds the largest size ("
+                    + ImmutableMaze.MAX_INDEXED_SIZE + ") this solver can index");
+        }
+    }
+
     // EFFECTS: resets field variables to solve maze from start
     protected abstract void init();
 
@@ -39,21 +51,23 @@ public abstract class MazeSolver implements Iterable<Path> {
         return path;
     }
 
-    // EFFECTS: produces true if adding move to current path would not run us into a wall and would not take us to a
-    //          cell that has already been visited
-    private boolean isValid(Move move) {
-        // we don't need to check for index out of bounds because if the maze is generated properly, then it will be
-        // surrounded by WALL and therefore the user cannot ever get to a cell such that they are one Move away
-        // from index out of bounds
-        Position newPos = path.getTail().applyMove(move);
-        return maze.isPath(newPos) && !path.containsNode(newPos);
+    // EFFECTS: produce the number of times a cell has been expanded (its neighbours examined) since the solve began
+    public int getNodesExpanded() {
+        return nodesExpanded;
     }
 
-    // EFFECTS: produce a list of valid moves (that would not run us into a wall) from tail of current path
+    // EFFECTS: produce a list of valid moves from tail of current path: moves that would not run us into a wall and
+    //          would not take us to a cell that has already been visited
     protected List<Move> getValidMoves() {
+        // we don't need to check for index out of bounds because if the maze is generated properly, then it will be
+        // surrounded by WALL and therefore the user cannot ever get to a cell such that they are one Move away
+        // from index out of bounds
+        Position tail = path.getTail();
+        int open = maze.getOpenDirections(maze.getIndex(tail.getPosX(), tail.getPosY()));
         List<Move> moves = new ArrayList<>(2);
         for (Move move : MOVES) {
-            if (isValid(move)) {
+            if ((open & move.getMask()) != 0
+                    && !path.containsNode(tail.getPosX() + move.getDeltaX(), tail.getPosY() + move.getDeltaY())) {
                 moves.add(move);
             }
         }
@@ -62,6 +76,7 @@ public abstract class MazeSolver implements Iterable<Path> {
 
     // EFFECTS: produce iterator for this, reset path
     public Iterator<Path> iterator() {
+        nodesExpanded = 0;
         init();
         return new SolverIterator();
     }
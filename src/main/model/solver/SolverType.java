@@ -0,0 +1,36 @@
+package model.solver;
+
+import model.maze.ImmutableMaze;
+import model.solver.backtracker.Backtracker;
+
+import java.util.function.Function;
+
+// The kinds of MazeSolver that can be chosen by name (ex. from the command line)
+public enum SolverType {
+    BACKTRACKER(Backtracker::new),
+    ASTAR(AStar::new),
+    JUNCTION(JunctionSolver::new),
+    LPASTAR(LPAStar::new),
+    DIAL(DialSolver::new);
+
+    private final Function<ImmutableMaze, MazeSolver> factory;
+
+    SolverType(Function<ImmutableMaze, MazeSolver> factory) {
+        this.factory = factory;
+    }
+
+    // EFFECTS: produce a new solver of this type for maze
+    public MazeSolver create(ImmutableMaze maze) {
+        return factory.apply(maze);
+    }
+
+    // EFFECTS: produce the type whose name is given, ignoring case; throws IllegalArgumentException if there is none
+    public static SolverType fromName(String name) {
+        for (SolverType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown solver: " + name);
+    }
+}
@@ -1,37 +1,119 @@
 package model.solver.backtracker;
 
 import model.maze.ImmutableMaze;
+import model.moveable.Move;
 import model.path.Path;
-import model.path.Position;
 import model.solver.MazeSolver;
 
+import java.util.Arrays;
+
 // Iterative backtracking search algorithm that terminates immediately upon finding a valid solution to the given maze
+// The search is a depth-first search over an explicit stack of frames, each holding a cell index and the next direction
+// to try from that cell; every cell the search has entered is marked in a bitset and never entered again, so each step
+// is O(1), each cell is entered at most once (even in mazes with loops), and nothing is allocated beyond the node
+// appended to the Path that is exposed for animation.
+// The constructor throws IllegalArgumentException if size * size of the maze exceeds Integer.MAX_VALUE
 public class Backtracker extends MazeSolver {
 
+    // the order in which directions are tried from each cell; the reverse of MOVES, so that DOWN and RIGHT (towards the
+    // goal) are tried first
+    private static final Move[] SEARCH_ORDER = {Move.DOWN, Move.RIGHT, Move.UP, Move.LEFT};
+
+    private final int origin;
+    private final int goal;
+    // frame i of the stack is the cell cells[i] together with the index in SEARCH_ORDER of the next direction to try
+    // from it; the cells of the frames are exactly the cells of path, in the same order
+    private int[] cells;
+    private byte[] nextDirection;
+    private int depth;
+    // one bit per cell of the maze, set iff the search has entered the cell; a cell that has been backtracked out of
+    // stays marked, since every path onward from it has already been tried
+    private long[] visited;
+
     public Backtracker(ImmutableMaze maze) {
         super(maze);
+        requireIndexable(maze);
+        origin = maze.getIndex(1, 1);
+        goal = maze.getIndex(maze.getSize() - 2, maze.getSize() - 2);
     }
 
     @Override
     protected void init() {
         path = new BranchedPath();
+        int size = maze.getSize();
+        if (visited == null) {
+            cells = new int[size];
+            nextDirection = new byte[size];
+            visited = new long[(size * size + Long.SIZE - 1) / Long.SIZE];
+        } else {
+            Arrays.fill(visited, 0);
+        }
+        depth = 0;
+        push(origin);
     }
 
+    // EFFECTS: produces true once the final node in path is in the bottom right corner of the maze, or once the stack
+    //          is empty because the goal cannot be reached (path is then null)
     @Override
     protected boolean isSolved() {
-        Position tail = path.getTail();
-        // check if final node in path is in the bottom right corner of the maze
-        return tail.getPosX() == maze.getSize() - 2 && tail.getPosY() == maze.getSize() - 2;
+        return depth == 0 || cells[depth - 1] == goal;
     }
 
     // REQUIRES: Maze has not been fully solved yet
     // MODIFIES: this
-    // EFFECTS: tick the algorithm one step forward and produce the current path
+    // EFFECTS: tick the algorithm one step forward and produce the current path: backtracks out of any cells that have
+    //          no untried directions left, then extends the path by one cell into a cell it has not entered before;
+    //          if every cell reachable from the start has been entered without reaching the goal (the maze is
+    //          unsolvable), the solve is over and the path, which is produced, is null
     @Override
     protected Path tick() {
-        // adds branches to path object, using current branch as foundation
-        ((BranchedPath) path).generateBranches(getValidMoves());
-        ((BranchedPath) path).nextBranch();
-        return path;
+        while (depth > 0) {
+            int cell = cells[depth - 1];
+            int open = maze.getOpenDirections(cell);
+            if (nextDirection[depth - 1] == 0) {
+                nodesExpanded++;
+            }
+            while (nextDirection[depth - 1] < SEARCH_ORDER.length) {
+                Move move = SEARCH_ORDER[nextDirection[depth - 1]++];
+                int next = cell + maze.getIndexOffset(move);
+                if ((open & move.getMask()) != 0 && !isVisited(next)) {
+                    push(next);
+                    path.addNode(move);
+                    return path;
+                }
+            }
+            pop();
+        }
+        path = null;
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a frame for cell to the top of the stack, growing the stack if it is full, and marks cell as visited
+    private void push(int cell) {
+        if (depth == cells.length) {
+            cells = Arrays.copyOf(cells, depth * 2);
+            nextDirection = Arrays.copyOf(nextDirection, depth * 2);
+        }
+        cells[depth] = cell;
+        nextDirection[depth] = 0;
+        depth++;
+        visited[cell / Long.SIZE] |= 1L << cell;
+    }
+
+    // REQUIRES: stack is not empty
+    // MODIFIES: this
+    // EFFECTS: removes the top frame of the stack, and its cell from the path (the origin is never removed from path);
+    //          the cell stays visited
+    private void pop() {
+        depth--;
+        if (depth > 0) {
+            ((BranchedPath) path).pop(1);
+        }
+    }
+
+    // EFFECTS: produce true if the search has entered cell
+    private boolean isVisited(int cell) {
+        return (visited[cell / Long.SIZE] & (1L << cell)) != 0;
     }
 }
@@ -0,0 +1,165 @@
+package model.sweep;
+
+import model.generator.MazeGenerator;
+import model.maze.ImmutableMaze;
+import model.maze.Maze;
+import model.path.Path;
+import model.solver.MazeSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// Measures how a solver's performance depends on a parameter (ex. the weighting of AStar) by solving many random mazes
+// with every parameter value. The work is split across a fork-join pool: the range of mazes is divided in halves down
+// to single mazes, and each maze is generated once and then solved with every parameter as a separate job, all jobs
+// sharing the (read-only) maze. Maze i is generated from seed + i, so a sweep's ticks and nodes expanded do not
+// depend on how the jobs are scheduled; only wall-clock times do.
+public class ParameterSweep {
+
+    // produces the solver to measure for a maze and a parameter value
+    public interface SolverFactory {
+        MazeSolver create(ImmutableMaze maze, double parameter);
+    }
+
+    private final int size;
+    private final int mazes;
+    private final long seed;
+    private final double[] parameters;
+    private final SolverFactory factory;
+    // ticks[p][m] is the number of ticks taken to solve maze m with parameters[p]; likewise for the others
+    private double[][] ticks;
+    private double[][] expanded;
+    private double[][] nanos;
+
+    // REQUIRES: size is odd and at least Maze.MIN_SIZE, mazes > 0 and parameters is not empty
+    // EFFECTS: initialize a sweep that solves mazes random mazes of given size with a solver made by factory for each
+    //          of the given parameter values
+    public ParameterSweep(int size, int mazes, long seed, double[] parameters, SolverFactory factory) {
+        this.size = size;
+        this.mazes = mazes;
+        this.seed = seed;
+        this.parameters = parameters.clone();
+        this.factory = factory;
+    }
+
+    // REQUIRES: count >= 2
+    // EFFECTS: produces count evenly spaced values from start to end (inclusive); each is computed from its index, so
+    //          no rounding error accumulates and the values are exact where possible (ex. 0.07, not 0.07000000000000001)
+    public static double[] range(double start, double end, int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = start + i * (end - start) / (count - 1);
+        }
+        return values;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs the sweep on pool and produces a result for each parameter, in the order the parameters were given
+    public List<Result> run(ForkJoinPool pool) {
+        ticks = new double[parameters.length][mazes];
+        expanded = new double[parameters.length][mazes];
+        nanos = new double[parameters.length][mazes];
+        pool.invoke(new MazeRange(0, mazes));
+
+        List<Result> results = new ArrayList<>(parameters.length);
+        for (int p = 0; p < parameters.length; p++) {
+            results.add(new Result(parameters[p], new Statistics(ticks[p]), new Statistics(expanded[p]),
+                    new Statistics(nanos[p])));
+        }
+        return results;
+    }
+
+    // Generates and solves mazes [from, to), splitting the range in half until it holds a single maze
+    @SuppressWarnings("serial")
+    private class MazeRange extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        private MazeRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MazeRange(from, middle), new MazeRange(middle, to));
+                return;
+            }
+            Maze maze = new MazeGenerator(size, seed + from).generateMaze();
+            // compute the open directions once, rather than once per solver
+            maze.setOpenDirectionsCached(true);
+            List<ForkJoinTask<?>> jobs = new ArrayList<>(parameters.length);
+            for (int p = 0; p < parameters.length; p++) {
+                jobs.add(new Job(maze, from, p));
+            }
+            invokeAll(jobs);
+        }
+    }
+
+    // Solves one maze with the solver for one parameter, and records the measurements
+    @SuppressWarnings("serial")
+    private class Job extends RecursiveAction {
+        private final ImmutableMaze maze;
+        private final int mazeIndex;
+        private final int parameterIndex;
+
+        private Job(ImmutableMaze maze, int mazeIndex, int parameterIndex) {
+            this.maze = maze;
+            this.mazeIndex = mazeIndex;
+            this.parameterIndex = parameterIndex;
+        }
+
+        @Override
+        protected void compute() {
+            MazeSolver solver = factory.create(maze, parameters[parameterIndex]);
+            int count = 0;
+            long start = System.nanoTime();
+            for (Path ignored : solver) {
+                count++;
+            }
+            nanos[parameterIndex][mazeIndex] = System.nanoTime() - start;
+            ticks[parameterIndex][mazeIndex] = count;
+            expanded[parameterIndex][mazeIndex] = solver.getNodesExpanded();
+        }
+    }
+
+    // The measurements of a solver with a particular parameter value over all mazes of a sweep
+    public static final class Result {
+        private final double parameter;
+        private final Statistics ticks;
+        private final Statistics nodesExpanded;
+        private final Statistics nanos;
+
+        private Result(double parameter, Statistics ticks, Statistics nodesExpanded, Statistics nanos) {
+            this.parameter = parameter;
+            this.ticks = ticks;
+            this.nodesExpanded = nodesExpanded;
+            this.nanos = nanos;
+        }
+
+        // EFFECTS: produce the parameter value that was measured
+        public double getParameter() {
+            return parameter;
+        }
+
+        // EFFECTS: produce the statistics of the number of ticks taken to solve each maze
+        public Statistics getTicks() {
+            return ticks;
+        }
+
+        // EFFECTS: produce the statistics of the number of nodes expanded to solve each maze
+        public Statistics getNodesExpanded() {
+            return nodesExpanded;
+        }
+
+        // EFFECTS: produce the statistics of the wall-clock time, in ns, taken to solve each maze
+        public Statistics getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package model.sweep;
+
+import java.util.Arrays;
+
+// Summary statistics of a sample of measurements: mean, standard deviation, percentiles and a 95% confidence interval
+// for the mean; samples are immutable once summarized
+public final class Statistics {
+
+    // the 97.5th percentile of the standard normal distribution; the confidence interval uses the normal approximation,
+    // which is accurate for the sample sizes that sweeps use (hundreds of mazes or more)
+    private static final double Z_95 = 1.959963984540054;
+
+    private final double[] sorted;
+    private final double mean;
+    private final double standardDeviation;
+
+    // REQUIRES: samples is not empty
+    // EFFECTS: summarizes given samples
+    public Statistics(double[] samples) {
+        sorted = samples.clone();
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (double sample : sorted) {
+            sum += sample;
+        }
+        mean = sum / sorted.length;
+        double squares = 0;
+        for (double sample : sorted) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        standardDeviation = sorted.length > 1 ? Math.sqrt(squares / (sorted.length - 1)) : 0;
+    }
+
+    // EFFECTS: produce the number of samples
+    public int getCount() {
+        return sorted.length;
+    }
+
+    // EFFECTS: produce the mean of the samples
+    public double getMean() {
+        return mean;
+    }
+
+    // EFFECTS: produce the (sample) standard deviation of the samples
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    // EFFECTS: produce the smallest sample
+    public double getMin() {
+        return sorted[0];
+    }
+
+    // EFFECTS: produce the largest sample
+    public double getMax() {
+        return sorted[sorted.length - 1];
+    }
+
+    // REQUIRES: 0 <= percent <= 100
+    // EFFECTS: produce the given percentile of the samples, using the nearest-rank method (the smallest sample that is
+    //          at least as large as percent% of the samples)
+    public double getPercentile(double percent) {
+        int rank = (int) Math.ceil(percent / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    // EFFECTS: produce the half-width of the 95% confidence interval for the mean, so the interval is
+    //          [getMean() - getConfidenceInterval95(), getMean() + getConfidenceInterval95()]
+    public double getConfidenceInterval95() {
+        return Z_95 * standardDeviation / Math.sqrt(sorted.length);
+    }
+
+    // EFFECTS: produces a one-line summary of this
+    @Override
+    public String toString() {
+        return String.format("mean %.2f +/- %.2f (p50 %.2f, p90 %.2f, p99 %.2f)", mean, getConfidenceInterval95(),
+                getPercentile(50), getPercentile(90), getPercentile(99));
+    }
+}
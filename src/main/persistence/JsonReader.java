@@ -1,6 +1,9 @@
 package persistence;
 
+import model.generator.GeneratorType;
+import model.maze.ChunkedMaze;
 import model.maze.ImmutableMaze;
+import model.maze.MappedMaze;
 import model.maze.Maze;
 import model.moveable.Player;
 import model.path.Position;
@@ -35,6 +38,19 @@ public class JsonReader {
         return new Maze(mazeObj.getInt("size"), mazeObj.getString("maze"));
     }
 
+    // EFFECTS: opens the memory-mapped maze file referenced by JSON obj (as saved by MappedMaze.toJson) and returns it;
+    //          throws IOException if the file cannot be opened or is not a maze file
+    public MappedMaze readMappedMaze() throws IOException {
+        return MappedMaze.open(Paths.get(obj.getJSONObject("maze").getString("file")));
+    }
+
+    // EFFECTS: parses the chunked maze world described by JSON obj (as saved by ChunkedMaze.toJson) and returns it
+    public ChunkedMaze readChunkedMaze() {
+        JSONObject mazeObj = obj.getJSONObject("maze");
+        return new ChunkedMaze(mazeObj.getLong("seed"), mazeObj.getInt("chunks"),
+                GeneratorType.fromName(mazeObj.getString("generator")), ChunkedMaze.DEFAULT_CACHE_CAPACITY);
+    }
+
     // EFFECTS: parses player from JSON obj and returns it
     public Player readPlayer(ImmutableMaze maze) {
         JSONObject playerObj = obj.getJSONObject("player");
@@ -0,0 +1,48 @@
+package persistence;
+
+import model.generator.RowSink;
+import model.maze.ImmutableMaze;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+
+// handles writing of a maze to a JSON file one row at a time, as the rows are generated (see EllerMazeGenerator), so
+// that only a single row is ever held in memory; the file has the same content as one written by JsonWriter for a
+// player at the start of the maze, and is read back with JsonReader
+public class JsonStreamWriter implements RowSink {
+    private final PrintWriter writer;
+    private final char[] chars;
+
+    // EFFECTS: opens writer to write a maze of given size to destination file; throws FileNotFoundException if
+    //          destination file cannot be opened for writing
+    public JsonStreamWriter(String destination, int size) throws FileNotFoundException {
+        writer = new PrintWriter(new File(destination));
+        chars = new char[size];
+        writer.print("{\"maze\": {\"size\": " + size + ", \"maze\": \"");
+    }
+
+    // REQUIRES: rows are given in order of y, starting at 0
+    // MODIFIES: this
+    // EFFECTS: writes row y of the maze to file, in the encoding of Maze.toString
+    @Override
+    public void acceptRow(int y, long[] row) {
+        for (int x = 0; x < chars.length; x++) {
+            chars[x] = (row[x / ImmutableMaze.WORD_LENGTH] & 1L << x) != 0 ? '1' : '0';
+        }
+        writer.write(chars);
+    }
+
+    // REQUIRES: all rows of the maze have been written
+    // MODIFIES: this
+    // EFFECTS: writes the player, at the start of the maze, and closes writer
+    public void close() {
+        writer.print("\"}, \"player\": {\"pos\": {\"x\": 1, \"y\": 1}}}");
+        writer.close();
+    }
+
+    // EFFECTS: produces true if writing to file has failed
+    public boolean checkError() {
+        return writer.checkError();
+    }
+}
@@ -0,0 +1,332 @@
+package ui.cli;
+
+import model.generator.EllerMazeGenerator;
+import model.generator.GeneratorType;
+import model.maze.Maze;
+import model.moveable.Player;
+import model.path.Path;
+import model.solver.MazeSolver;
+import model.solver.SolverType;
+import persistence.JsonStreamWriter;
+import persistence.JsonWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Headless command-line entry point that generates, solves and benchmarks mazes without a display; nothing it uses
+// loads AWT or Swing, so it runs on build hosts. Mazes are processed in parallel, one task per maze, on a fixed pool
+// with a thread per core by default; maze i is generated from seed + i, so the mazes do not depend on scheduling.
+//
+// Usage: Batch <generate|solve|benchmark> [--size N] [--count N] [--seed N] [--solver NAME] [--generator NAME]
+//              [--threads N] [--out PATH]
+//   generate   writes maze i to PATH/maze-i.json (in the format the game loads) and a CSV of timings to stdout
+//   solve      generates the mazes and solves each with the chosen solver; writes a CSV row per maze to PATH (or stdout)
+//   benchmark  generates the mazes and solves them with every solver (or just the chosen one); writes a CSV summary
+//              row per solver to PATH (or stdout)
+// Mazes are generated with depth-first search unless another GeneratorType is chosen. The tiled generator (see
+// TiledMazeGenerator) also splits each maze across the common fork-join pool, which pays off for a few very large
+// mazes rather than many small ones. The Eller generator (see EllerMazeGenerator) streams each maze to its file row by
+// row when generating, so it can write mazes larger than memory.
+public class Batch {
+
+    private static final String USAGE = "Usage: Batch <generate|solve|benchmark> [--size N] [--count N] [--seed N]"
+            + " [--solver " + Arrays.toString(SolverType.values()) + "]"
+            + " [--generator " + Arrays.toString(GeneratorType.values()) + "] [--threads N] [--out PATH]";
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final Options options;
+    private final ExecutorService executor;
+
+    // EFFECTS: initialize a batch that runs with given options
+    public Batch(Options options) {
+        this.options = options;
+        executor = Executors.newFixedThreadPool(options.threads);
+    }
+
+    // EFFECTS: runs the command given by args, printing usage and exiting with status 2 if args are invalid
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        new Batch(options).run();
+    }
+
+    // EFFECTS: runs the command in options; throws Exception if a task fails or output cannot be written
+    public void run() throws Exception {
+        try (PrintStream out = openOutput()) {
+            switch (options.command) {
+                case "generate":
+                    generate(out);
+                    break;
+                case "solve":
+                    printRows(out, solveAll(options.solver));
+                    break;
+                default:
+                    benchmark(out);
+                    break;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // EFFECTS: produces the stream that CSV output goes to: stdout for generate (whose --out is a directory) or if
+    //          there is no --out, else the --out file
+    private PrintStream openOutput() throws FileNotFoundException {
+        if (options.out == null || options.command.equals("generate")) {
+            // don't let closing the batch's output close System.out itself
+            return new PrintStream(System.out, true) {
+                @Override
+                public void close() {
+                    flush();
+                }
+            };
+        }
+        return new PrintStream(new File(options.out));
+    }
+
+    // MODIFIES: out
+    // EFFECTS: generates the mazes, saving each to the output directory, and writes a CSV row of timings for each
+    private void generate(PrintStream out) throws Exception {
+        File directory = new File(options.out == null ? "./data/batch" : options.out);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new FileNotFoundException("Cannot create directory " + directory);
+        }
+        List<Result> results = runAll(index -> {
+            Result result = new Result(index);
+            File file = new File(directory, "maze-" + index + ".json");
+            if (options.generator == GeneratorType.ELLER) {
+                result.stream(file);
+            } else {
+                Maze maze = result.generate();
+                JsonWriter writer = new JsonWriter(file.getPath());
+                writer.write(maze, new Player(maze));
+                writer.close();
+            }
+            return result;
+        });
+        out.println("index,seed,size,generate_ms");
+        for (Result result : results) {
+            out.println(result.index + "," + result.seed + "," + options.size + "," + millis(result.generateNanos));
+        }
+    }
+
+    // EFFECTS: generates the mazes and solves each with a solver of given type, producing the results in order
+    private List<Result> solveAll(SolverType type) throws Exception {
+        return runAll(index -> {
+            Result result = new Result(index);
+            result.solve(type, result.generate());
+            return result;
+        });
+    }
+
+    // MODIFIES: out
+    // EFFECTS: writes a CSV row for each result
+    private void printRows(PrintStream out, List<Result> results) {
+        out.println("index,seed,size,solver,ticks,path_length,generate_ms,solve_ms");
+        for (Result r : results) {
+            out.println(r.index + "," + r.seed + "," + options.size + "," + r.solver + "," + r.ticks + ","
+                    + r.pathLength + "," + millis(r.generateNanos) + "," + millis(r.solveNanos));
+        }
+    }
+
+    // MODIFIES: out
+    // EFFECTS: solves the mazes with each solver to be benchmarked, and writes a CSV summary row for each
+    private void benchmark(PrintStream out) throws Exception {
+        List<SolverType> types = options.solver == null ? Arrays.asList(SolverType.values())
+                                                        : Collections.singletonList(options.solver);
+        out.println("solver,size,count,mean_ticks,mean_generate_ms,mean_solve_ms,min_solve_ms,max_solve_ms");
+        for (SolverType type : types) {
+            List<Result> results = solveAll(type);
+            long ticks = 0;
+            long generate = 0;
+            long solve = 0;
+            long min = Long.MAX_VALUE;
+            long max = 0;
+            for (Result r : results) {
+                ticks += r.ticks;
+                generate += r.generateNanos;
+                solve += r.solveNanos;
+                min = Math.min(min, r.solveNanos);
+                max = Math.max(max, r.solveNanos);
+            }
+            int n = results.size();
+            out.println(type + "," + options.size + "," + n + "," + (double) ticks / n + "," + millis(generate / n)
+                    + "," + millis(solve / n) + "," + millis(min) + "," + millis(max));
+        }
+    }
+
+    // EFFECTS: runs task for every maze index on the executor and produces the results in index order; throws
+    //          Exception (the task's own, if it threw one) if any task fails
+    private List<Result> runAll(Task task) throws Exception {
+        List<Callable<Result>> calls = new ArrayList<>(options.count);
+        for (int i = 0; i < options.count; i++) {
+            int index = i;
+            calls.add(() -> task.run(index));
+        }
+        List<Result> results = new ArrayList<>(options.count);
+        for (Future<Result> future : executor.invokeAll(calls)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        return results;
+    }
+
+    // EFFECTS: produces given duration in milliseconds
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    // The work done for a single maze
+    private interface Task {
+        Result run(int index) throws Exception;
+    }
+
+    // The seed, timings and (if solved) solution statistics for a single maze
+    private class Result {
+        private final int index;
+        private final long seed;
+        private long generateNanos;
+        private SolverType solver;
+        private int ticks;
+        private int pathLength;
+        private long solveNanos;
+
+        // EFFECTS: initialize the result for maze number index
+        private Result(int index) {
+            this.index = index;
+            seed = options.seed + index;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: generates the maze for this result, timing it, and produces it
+        private Maze generate() {
+            long start = System.nanoTime();
+            Maze maze = options.generator.create(options.size, seed).generateMaze(options.size);
+            generateNanos = System.nanoTime() - start;
+            return maze;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: generates the maze for this result with Eller's algorithm straight into file, timing it; throws
+        //          IOException if file cannot be written
+        private void stream(File file) throws IOException {
+            long start = System.nanoTime();
+            JsonStreamWriter writer = new JsonStreamWriter(file.getPath(), options.size);
+            new EllerMazeGenerator(options.size, seed).generate(writer);
+            writer.close();
+            generateNanos = System.nanoTime() - start;
+            if (writer.checkError()) {
+                throw new IOException("Cannot write " + file);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: solves maze with a solver of given type, recording the number of ticks, solution length and time
+        private void solve(SolverType type, Maze maze) {
+            solver = type;
+            MazeSolver mazeSolver = type.create(maze);
+            long start = System.nanoTime();
+            for (Path ignored : mazeSolver) {
+                ticks++;
+            }
+            solveNanos = System.nanoTime() - start;
+            Path path = mazeSolver.getPath();
+            pathLength = path == null ? 0 : path.getLength();
+        }
+    }
+
+    // The settings of a batch, parsed from the command line
+    public static final class Options {
+        private String command;
+        private int size = 101;
+        private int count = 100;
+        private long seed = 0;
+        private SolverType solver;
+        private GeneratorType generator = GeneratorType.DFS;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private String out;
+
+        // EFFECTS: parses the command line; throws IllegalArgumentException if it is invalid
+        public static Options parse(String[] args) {
+            if (args.length == 0 || !Arrays.asList("generate", "solve", "benchmark").contains(args[0])) {
+                throw new IllegalArgumentException("Expected a command");
+            }
+            Options options = new Options();
+            options.command = args[0];
+            for (int i = 1; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                options.set(args[i], args[i + 1]);
+            }
+            options.validate();
+            return options;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: sets the option with given flag to value; throws IllegalArgumentException if either is invalid
+        private void set(String flag, String value) {
+            switch (flag) {
+                case "--size":
+                    size = Integer.parseInt(value);
+                    break;
+                case "--count":
+                    count = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--solver":
+                    solver = SolverType.fromName(value);
+                    break;
+                case "--generator":
+                    generator = GeneratorType.fromName(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + flag);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: throws IllegalArgumentException if the options are out of range; defaults the solver to A* when
+        //          solving
+        private void validate() {
+            if (size < Maze.MIN_SIZE || size % 2 == 0) {
+                throw new IllegalArgumentException("--size must be odd and at least " + Maze.MIN_SIZE);
+            }
+            if (count < 1 || threads < 1) {
+                throw new IllegalArgumentException("--count and --threads must be positive");
+            }
+            if (solver == null && command.equals("solve")) {
+                solver = SolverType.ASTAR;
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package ui.controller;
 
+import model.generator.CellDeltas;
+import model.generator.GeneratorType;
 import model.generator.MazeGenerator;
+import model.generator.MazePool;
+import model.generator.StepwiseGenerator;
 import model.maze.Maze;
+import model.maze.TrackedMaze;
 import model.moveable.Move;
 import model.moveable.Player;
-import model.path.Position;
-import model.solver.AStar;
+import model.path.Path;
+import model.solver.LPAStar;
 import model.solver.MazeSolver;
+import model.solver.SolverType;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 import ui.graphics.Canvas;
@@ -28,16 +34,36 @@ public class MazeGame extends JFrame {
     public static final Font HEADER = new Font("Dialog", Font.PLAIN, 15);
     public static final Font TEXT_FONT = new Font("Tahoma", Font.PLAIN, 13);
 
+    // the largest maze that fits on screen; kept here rather than in Maze so that the model never touches AWT
+    public static final int MAX_SIZE = Maze.floorOdd(Toolkit.getDefaultToolkit().getScreenSize().getHeight()
+            / Canvas.CELL_LENGTH);
+
     // .json file path & tick Interval (seconds)
     private static final String DATA = "./data/state.json";
     private static final int INTERVAL = 33;
+    // roughly how long an animated generation takes, whatever the size of the maze
+    private static final int GENERATION_SECONDS = 4;
 
-    // models
-    private MazeGenerator mazeGenerator;
+    // models; mazes of the current size are generated ahead of time, so that generating one does not block the UI
+    private MazePool mazePool;
     private int size;
     private Maze maze;
+    // maze with its indexes, kept up to date as the player edits it: its components, so that it is known at once whether
+    // it is solvable, and the distance from every cell to the goal, for the player's progress readout
+    private TrackedMaze tracked;
     private Player player;
     private boolean blocked;
+    // the solver that is currently running, or null if there is none
+    private SolveWorker solveWorker;
+    // the incremental solver for maze, kept between solves so that it only repairs what edits changed (null until it
+    // is first chosen, and whenever maze is replaced)
+    private LPAStar incrementalSolver;
+    // the generator that is being animated and the timer that steps it (null if there is none), the number of steps
+    // it takes per frame, and the cells that the latest frame carved
+    private StepwiseGenerator animation;
+    private Timer animationTimer;
+    private int stepsPerFrame;
+    private final CellDeltas carved = new CellDeltas();
     // graphics
     private ConfigPanel config;
     private ui.graphics.Canvas canvas;
@@ -56,7 +82,7 @@ public class MazeGame extends JFrame {
 
         // set size and center window
         Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
-        setSize((Maze.MAX_SIZE + 2) * ui.graphics.Canvas.CELL_LENGTH + ConfigPanel.WIDTH, screen.height);
+        setSize((MAX_SIZE + 2) * ui.graphics.Canvas.CELL_LENGTH + ConfigPanel.WIDTH, screen.height);
         setLocation((screen.width - getWidth()) / 2, (screen.height - getHeight()) / 2);
 
         // init local vars
@@ -68,6 +94,7 @@ public class MazeGame extends JFrame {
         canvas = new ui.graphics.Canvas(new Dimension(screen.width - ConfigPanel.WIDTH, screen.height));
         add(config);
         add(canvas);
+        showProgress();
 
         addListeners();
         setVisible(true);
@@ -93,24 +120,34 @@ public class MazeGame extends JFrame {
     private void init() {
         blocked = false;
         size = Maze.MIN_SIZE;
-        mazeGenerator = new MazeGenerator(size);
+        mazePool = new MazePool(GeneratorType.DFS, MazePool.DEFAULT_CAPACITY, 1);
+        mazePool.setSize(size);
         updateMazeRefs(MazeGenerator.generateBlankMaze(size));
     }
 
     // MODIFIES: this
     // EFFECTS: loads fields from input file; throws IOException if file is not found or reader is unable to read from
-    //          file, and IllegalStateException if file has illegal values (even if it is readable)
+    //          file, and IllegalStateException if file has illegal values (even if it is readable), including a maze
+    //          whose goal cannot be reached
     public void load(boolean reset) throws Exception {
         JsonReader jsonReader = new JsonReader(DATA);
 
-        maze = jsonReader.readMaze();
-        size = maze.getSize();
-        config.setSize(size);
-        if (size > Maze.MAX_SIZE) {
+        cancelSolve();
+        finishAnimation();
+        Maze loaded = jsonReader.readMaze();
+        if (loaded.getSize() > MAX_SIZE) {
             throw new IllegalStateException("Maze size out of bounds");
         }
-        mazeGenerator = new MazeGenerator(size);
+        TrackedMaze loadedTracked = new TrackedMaze(loaded);
+        if (!loadedTracked.getConnectivity().isSolvable()) {
+            throw new IllegalStateException("Maze is not solvable");
+        }
+        updateMazeRefs(loadedTracked);
+        size = maze.getSize();
+        config.setSize(size);
+        mazePool.setSize(size);
         player = jsonReader.readPlayer(maze);
+        showProgress();
 
         if (reset) {
             drawCanvas();
@@ -137,6 +174,20 @@ public class MazeGame extends JFrame {
         return g;
     }
 
+    // MODIFIES: g
+    // EFFECTS: paints the window; the maze, path and player are copied from the canvas's cached layers, so whatever
+    //          the window covered is restored when it is exposed again
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (canvas != null) {
+            Graphics translated = g.create();
+            translated.translate(ConfigPanel.WIDTH + Canvas.CELL_LENGTH, getInsets().top);
+            canvas.repaintLayers(translated);
+            translated.dispose();
+        }
+    }
+
     // MODIFIES: g
     // EFFECTS: paints maze and player, and changes color of g
     public void drawCanvas() {
@@ -146,29 +197,100 @@ public class MazeGame extends JFrame {
     }
 
     // MODIFIES: this
-    // EFFECTS: solves maze and resets solver; animates solver as specified
+    // EFFECTS: starts solving maze on a background worker (cancelling any solve already in progress); animates solver
+    //          as specified. The player cannot move or edit the maze until the solve is reset
     public void solve(boolean animate) {
+        cancelSolve();
+        finishAnimation();
+        if (!tracked.getConnectivity().isSolvable()) {
+            // there is nothing for a solver to find
+            config.setSolvable(false);
+            return;
+        }
         blocked = true;
-        try {
-            MazeSolver solver = config.getSelectedSolver(maze);
-            if (solver instanceof AStar) {
-                canvas.paintAStar(getTranslatedGraphics(), maze, solver, animate);
-            } else {
-                canvas.paintSolver(getTranslatedGraphics(), maze, solver, animate);
+        canvas.paintMaze(getTranslatedGraphics(), maze);
+        solveWorker = new SolveWorker(this, canvas, selectedSolver(), animate);
+        config.setSolving(true);
+        solveWorker.execute();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: produces a solver of the type selected in the config panel; the incremental solver is reused if it
+    //          exists
+    private MazeSolver selectedSolver() {
+        SolverType type = config.getSelectedSolverType();
+        if (type != SolverType.LPASTAR) {
+            return type.create(maze);
+        }
+        if (incrementalSolver == null) {
+            incrementalSolver = new LPAStar(maze);
+            incrementalSolver.attach();
+        }
+        return incrementalSolver;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the incremental solver, if there is one
+    private void dropIncrementalSolver() {
+        if (incrementalSolver != null) {
+            incrementalSolver.detach();
+            incrementalSolver = null;
+        }
+    }
+
+    // EFFECTS: produces true if a solver is currently running
+    public boolean isSolving() {
+        return solveWorker != null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the solver that is currently running, if any; its results are discarded
+    public void cancelSolve() {
+        if (solveWorker != null) {
+            if (solveWorker.getSolver() == incrementalSolver) {
+                // it may still be in the middle of a tick, so its state cannot be trusted with the edits that follow
+                dropIncrementalSolver();
             }
-        } catch (IllegalArgumentException e) {
-            // If the player puts the maze in an unsolvable state (by editing walls)
+            solveWorker.cancel(true);
+            solveWorker = null;
+            config.setSolving(false);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the number of ticks that worker has taken, if it is the solver that is currently running
+    public void solveProgress(SolveWorker worker, int ticks) {
+        if (worker == solveWorker) {
+            config.setTicks(ticks);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if worker is the solver that is currently running, paints its solution, or resets if there is none
+    //          (ex. the player put the maze in an unsolvable state by editing walls)
+    public void solveFinished(SolveWorker worker, Path solution) {
+        if (worker != solveWorker) {
+            return;
+        }
+        solveWorker = null;
+        config.setSolving(false);
+        if (solution == null) {
             reset();
-        } catch (InterruptedException e) {
-            // do nothing
+        } else {
+            Graphics g = getTranslatedGraphics();
+            canvas.paintMaze(g, maze);
+            canvas.paintSingularPath(g, solution);
         }
     }
 
     // MODIFIES: this
     // EFFECTS: resets player, repaints canvas
     public void reset() {
+        cancelSolve();
+        finishAnimation();
         player = new Player(maze);
         blocked = false;
+        showProgress();
         drawCanvas();
     }
 
@@ -178,6 +300,7 @@ public class MazeGame extends JFrame {
     private void move(Move move) {
         if (!blocked) {
             canvas.movePlayer(getTranslatedGraphics(), move, player);
+            showProgress();
             if (player.getPosition().equals(size - 2, size - 2)) {
                 canvas.paintWin(getTranslatedGraphics());
                 blocked = true;
@@ -186,21 +309,98 @@ public class MazeGame extends JFrame {
     }
 
     // MODIFIES: this
-    // EFFECTS: updates all Maze references and reset player position
+    // EFFECTS: updates all Maze references and reset player position, building the indexes of maze on this thread
     public void updateMazeRefs(Maze maze) {
+        updateMazeRefs(new TrackedMaze(maze));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates all Maze references to the maze of tracked, whose indexes are already built, and reset player
+    //          position
+    private void updateMazeRefs(TrackedMaze tracked) {
         blocked = false;
-        this.maze = maze;
+        if (this.tracked != null) {
+            this.tracked.detach();
+        }
+        dropIncrementalSolver();
+        this.tracked = tracked;
+        maze = tracked.getMaze();
         player = new Player(maze);
+        if (config != null) {
+            config.setSolvable(tracked.getConnectivity().isSolvable());
+            showProgress();
+        }
     }
 
     // MODIFIES: this
-    // EFFECTS: generates new maze of
+    // EFFECTS: shows how far the player is from the goal, and which way to go
+    private void showProgress() {
+        config.setDistance(tracked.getDistances().getDistance(player.getPosition()),
+                tracked.getDistances().getBestMove(player.getPosition()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the maze with a new random (or if blank, empty) maze of the current size; a random maze is
+    //          usually taken ready-made from the pool, indexes and all
     public void generateNewMaze(boolean blank) {
+        cancelSolve();
+        finishAnimation();
         // generate maze and update refs
-        updateMazeRefs(blank ? MazeGenerator.generateBlankMaze(size) : mazeGenerator.generateMaze(size));
+        if (blank) {
+            updateMazeRefs(MazeGenerator.generateBlankMaze(size));
+        } else {
+            updateMazeRefs(mazePool.take());
+        }
         drawCanvas();
     }
 
+    // MODIFIES: this
+    // EFFECTS: replaces the maze with a new random maze of the current size that is carved on screen a batch of steps
+    //          per frame, so that it takes about GENERATION_SECONDS whatever its size; the player cannot move or edit
+    //          the maze until it is complete
+    public void animateNewMaze() {
+        cancelSolve();
+        finishAnimation();
+        Maze next = new Maze(size);
+        updateMazeRefs(next);
+        blocked = true;
+        animation = new MazeGenerator(size);
+        animation.start(next);
+        drawCanvas();
+
+        int vertices = (size - 1) / 2;
+        stepsPerFrame = Math.max(1, vertices * vertices / (GENERATION_SECONDS * Canvas.FPS));
+        animationTimer = new Timer(1000 / Canvas.FPS, e -> stepAnimation(stepsPerFrame));
+        animationTimer.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: takes up to steps steps of the animated generation and paints the cells they carved; once the maze is
+    //          complete, stops the animation and lets the player move
+    private void stepAnimation(int steps) {
+        carved.clear();
+        animation.step(steps, carved);
+        canvas.paintCarved(getTranslatedGraphics(), carved);
+        if (animation.isDone()) {
+            animationTimer.stop();
+            animationTimer = null;
+            animation = null;
+            blocked = false;
+            config.setSolvable(tracked.getConnectivity().isSolvable());
+            showProgress();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if a generation is being animated, completes it at once
+    private void finishAnimation() {
+        if (animation != null) {
+            stepAnimation(Integer.MAX_VALUE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the player may edit cell x, y, sets it as given by state and shows whether the maze is still solvable
     public void setCell(int x, int y, State state) {
         if (state != State.NONE
                 && 0 < x && x < size - 1
@@ -208,22 +408,23 @@ public class MazeGame extends JFrame {
                 && !blocked
                 && !player.getPosition().equals(x, y)) {
             maze.setCell(x, y, state == State.PATH);
-            canvas.fill(getTranslatedGraphics(),
-                    new Position(x, y),
-                    state == State.PATH ? Color.WHITE : Color.BLACK);
+            canvas.paintCell(getTranslatedGraphics(), x, y, state == State.PATH);
+            config.setSolvable(tracked.getConnectivity().isSolvable());
+            showProgress();
         }
     }
 
     // MODIFIES: this
     // EFFECTS: sets size, ensuring that it satisfies the requirement of being an odd integer in the interval
-    //          [Maze.MIN_SIZE, Maze.MAX_SIZE]
+    //          [Maze.MIN_SIZE, MazeGame.MAX_SIZE], and starts preparing mazes of that size
     public void setSize(int size) {
         if (size < Maze.MIN_SIZE) {
             size = Maze.MIN_SIZE;
-        } else if (size > Maze.MAX_SIZE) {
-            size = Maze.MAX_SIZE;
+        } else if (size > MAX_SIZE) {
+            size = MAX_SIZE;
         }
         this.size = size % 2 == 1 ? size : size + 1;
+        mazePool.setSize(this.size);
     }
 
     // MODIFIES: this
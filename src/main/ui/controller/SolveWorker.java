@@ -0,0 +1,161 @@
+package ui.controller;
+
+import model.path.Path;
+import model.path.PathEngine;
+import model.path.PathNode;
+import model.path.Position;
+import model.solver.AStar;
+import model.solver.MazeSolver;
+import ui.graphics.Canvas;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+// Runs a MazeSolver on a background thread so that the UI stays responsive while it works; when animating, each tick
+// is turned into a Frame (a snapshot of what changed, which shares no state with the solver) that is published to the
+// event dispatch thread and painted there, and the worker waits one frame (1 / Canvas.FPS seconds) between ticks.
+// The worker can be stopped at any time with cancel(true); MazeGame is told how many ticks have been taken as the
+// solver runs, and what the solution was (if any) once it finishes.
+public class SolveWorker extends SwingWorker<Path, SolveWorker.Frame> {
+
+    // delay in ms between steps of animation; 1000 ms per sec
+    private static final int DELAY = 1000 / Canvas.FPS;
+    // how often, in ns, the tick count is reported when not animating
+    private static final long PROGRESS_INTERVAL = 100_000_000L;
+
+    private final MazeGame mazeGame;
+    private final Canvas canvas;
+    private final MazeSolver solver;
+    private final boolean animate;
+    // the number of ticks taken so far; written by the worker thread and read on the event dispatch thread
+    private volatile int ticks;
+
+    // EFFECTS: initialize a worker that runs solver, animating it on canvas iff animate is true, and reports to mazeGame
+    public SolveWorker(MazeGame mazeGame, Canvas canvas, MazeSolver solver, boolean animate) {
+        this.mazeGame = mazeGame;
+        this.canvas = canvas;
+        this.solver = solver;
+        this.animate = animate;
+    }
+
+    // EFFECTS: produce the solver that this runs
+    public MazeSolver getSolver() {
+        return solver;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ticks solver to completion (or until cancelled), publishing a Frame for each tick if animating or
+    //          periodically otherwise, and produces the solution (null if the solver found there is none); throws
+    //          InterruptedException if cancelled while waiting between frames
+    @Override
+    protected Path doInBackground() throws InterruptedException {
+        PathEngine engine = new PathEngine();
+        Iterator<Path> iterator = solver.iterator();
+        long lastReport = System.nanoTime();
+        while (iterator.hasNext() && !isCancelled()) {
+            Path path = iterator.next();
+            ticks++;
+            if (animate) {
+                publish(snapshot(engine, path));
+                Thread.sleep(DELAY);
+            } else if (System.nanoTime() - lastReport > PROGRESS_INTERVAL) {
+                publish(new Frame(ticks));
+                lastReport = System.nanoTime();
+            }
+        }
+        return solver.getPath();
+    }
+
+    // MODIFIES: engine
+    // EFFECTS: produces a Frame with the changes made by the most recent tick, which produced path
+    private Frame snapshot(PathEngine engine, Path path) {
+        if (solver instanceof AStar) {
+            AStar astar = (AStar) solver;
+            return new Frame(ticks, astar.getRemoved(), astar.getAdded());
+        }
+        if (path == null) {
+            // the solver has no path to show until it is done (ex. LPAStar)
+            return new Frame(ticks);
+        }
+        engine.addPath(path);
+        return new Frame(ticks, engine.getToWipe(), engine.getToPlace());
+    }
+
+    // MODIFIES: canvas
+    // EFFECTS: paints the given frames in order and reports the latest tick count; runs on the event dispatch thread
+    @Override
+    protected void process(List<Frame> frames) {
+        if (isCancelled()) {
+            return;
+        }
+        for (Frame frame : frames) {
+            if (frame.toPlace != null) {
+                canvas.paintPathDiff(mazeGame.getTranslatedGraphics(), frame.toWipe, frame.toPlace);
+            } else if (frame.added != null) {
+                canvas.paintFrontier(mazeGame.getTranslatedGraphics(), frame.removed, frame.added);
+            }
+        }
+        mazeGame.solveProgress(this, frames.get(frames.size() - 1).ticks);
+    }
+
+    // EFFECTS: reports the final tick count and the solution to mazeGame (null if the maze has no solution or the worker
+    //          was cancelled); runs on the event dispatch thread. Solvers finish with a null path when the maze has no
+    //          solution, so a solver that threw has a bug: mazeGame is told there is no solution so that the game is
+    //          not left blocked, and then IllegalStateException is thrown with the solver's exception as its cause
+    @Override
+    protected void done() {
+        Path solution = null;
+        Throwable failure = null;
+        if (!isCancelled()) {
+            try {
+                solution = get();
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException e) {
+                // do nothing
+            }
+        }
+        mazeGame.solveProgress(this, ticks);
+        mazeGame.solveFinished(this, solution);
+        if (failure != null) {
+            throw new IllegalStateException("Solver failed", failure);
+        }
+    }
+
+    // The changes that one tick of a solver made, as immutable copies; a Frame either describes a change to a path,
+    // a step of A*'s frontier, or (when not animating) nothing but the number of ticks taken so far
+    static final class Frame {
+        private final int ticks;
+        private final List<PathNode> toWipe;
+        private final List<PathNode> toPlace;
+        private final Position removed;
+        private final List<Position> added;
+
+        // EFFECTS: initialize a frame that only reports the number of ticks taken
+        private Frame(int ticks) {
+            this(ticks, null, null, null, null);
+        }
+
+        // EFFECTS: initialize a frame that changes a path by wiping toWipe and then placing toPlace
+        private Frame(int ticks, List<PathNode> toWipe, List<PathNode> toPlace) {
+            this(ticks, toWipe, toPlace, null, null);
+        }
+
+        // EFFECTS: initialize a frame that expands removed and adds added to A*'s frontier
+        private Frame(int ticks, Position removed, List<Position> added) {
+            this(ticks, null, null, removed, added);
+        }
+
+        private Frame(int ticks, List<PathNode> toWipe, List<PathNode> toPlace, Position removed,
+                      List<Position> added) {
+            this.ticks = ticks;
+            this.toWipe = toWipe == null ? null : Collections.unmodifiableList(toWipe);
+            this.toPlace = toPlace == null ? null : Collections.unmodifiableList(toPlace);
+            this.removed = removed;
+            this.added = added;
+        }
+    }
+}
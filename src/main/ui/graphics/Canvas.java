@@ -1,22 +1,20 @@
 package ui.graphics;
 
+import model.generator.CellDeltas;
 import model.maze.ImmutableMaze;
 import model.maze.Maze;
 import model.moveable.Move;
 import model.moveable.Player;
 import model.path.Path;
-import model.path.PathEngine;
 import model.path.PathNode;
 import model.path.Position;
-import model.solver.AStar;
-import model.solver.MazeSolver;
 import ui.controller.MazeGame;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 
 // A canvas that handles rendering of maze, player, and paths
@@ -31,11 +29,21 @@ public final class Canvas extends JPanel {
     public static final Color PLAYER_COLOR = Color.RED;
     public static final int PLAYER_WIDTH = PATH_WIDTH + 2;
     public static final int FPS = 60;
-    private static final int DELAY = 1000 / FPS; // delay in ms between steps of animation; 1000 ms per sec
     public static final String WIN_MESSAGE = "Congratulations, you have completed this maze! Press space or 'Generate"
             + " Maze' to try again.";
 
-    private PathEngine pathEngine;
+    // the static maze, rendered once per maze (and then updated a cell at a time when the maze is edited), and a
+    // transparent layer holding the solver's path or frontier; the screen is only ever drawn on by copying the dirty
+    // region of these layers (and the player, which is composited on top)
+    private BufferedImage mazeLayer;
+    private BufferedImage pathLayer;
+    private ImmutableMaze layerMaze;
+    private Player player;
+    // the region of the screen that is out of date with the layers (null if none), in pixels relative to the maze
+    private Rectangle dirty;
+    // the side-length in pixels of the maze that is on screen, and whether the win message is covering it
+    private int drawnLength;
+    private boolean showingWin;
 
     // EFFECTS: initializes canvas to be specified size
     public Canvas(Dimension size) {
@@ -43,48 +51,167 @@ public final class Canvas extends JPanel {
         setMinimumSize(size);
         setMaximumSize(size);
         setFocusable(true);
-
-        pathEngine = new PathEngine();
     }
 
-    // MODIFIES: g
+    // MODIFIES: this, g
     // EFFECTS: paints the current Maze, with squares of sidelength CELL_LENGTH, using black for WALL, and white for
-    //          PATH & changes g's color to COLOR.WHITE
+    //          PATH, and clears any path; the maze is only rendered when it is not the maze that was last painted,
+    //          otherwise the cached layer is copied to the screen in a single blit
     public void paintMaze(Graphics g, ImmutableMaze maze) {
-        wipeScreen(g);
-        int size = maze.getSize();
+        if (maze != layerMaze) {
+            renderMaze(maze);
+        }
+        clearPathLayer();
+        if (showingWin || drawnLength != mazeLayer.getWidth()) {
+            wipeScreen(g);
+            drawnLength = mazeLayer.getWidth();
+        }
+        showingWin = false;
+        markDirty(0, 0, drawnLength, drawnLength);
+        flush(g);
+    }
+
+    // MODIFIES: g
+    // EFFECTS: redraws everything that should be on screen from the cached layers (ex. after the window was covered)
+    public void repaintLayers(Graphics g) {
+        if (showingWin) {
+            paintWin(g);
+        } else if (mazeLayer != null) {
+            markDirty(0, 0, drawnLength, drawnLength);
+            flush(g);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: renders maze into the maze layer (allocating the layers if the maze is a new size)
+    private void renderMaze(ImmutableMaze maze) {
+        int length = maze.getSize() * CELL_LENGTH;
+        if (mazeLayer == null || mazeLayer.getWidth() != length) {
+            mazeLayer = new BufferedImage(length, length, BufferedImage.TYPE_INT_RGB);
+            pathLayer = new BufferedImage(length, length, BufferedImage.TYPE_INT_ARGB);
+        }
+        Graphics2D g = mazeLayer.createGraphics();
         // fill everything with black so we get all the walls (internal & surrounding) done for free!
         g.setColor(Color.BLACK);
-        g.fillRect(0, 0, size * CELL_LENGTH, size * CELL_LENGTH);
+        g.fillRect(0, 0, length, length);
 
-        // draw insides of maze
+        // draw insides of maze; each horizontal run of PATH cells is filled with a single call
         g.setColor(Color.WHITE);
-        int cornerX = CELL_LENGTH;
-        int cornerY = CELL_LENGTH;
-        for (int y = 1; y < size - 1; y++) {
-            for (int x = 1; x < size - 1; x++) {
-                if (maze.isPath(x, y)) {
-                    g.fillRect(cornerX, cornerY, CELL_LENGTH, CELL_LENGTH);
+        for (int y = 1; y < maze.getSize() - 1; y++) {
+            paintRow(g, maze, y);
+        }
+        g.dispose();
+        layerMaze = maze;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the whole path layer transparent
+    private void clearPathLayer() {
+        Graphics2D g = pathLayer.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, pathLayer.getWidth(), pathLayer.getHeight());
+        g.dispose();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds given rectangle (in pixels) to the region of the screen that needs to be redrawn
+    private void markDirty(int x, int y, int width, int height) {
+        markDirty(new Rectangle(x, y, width, height));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds given rectangle (in pixels) to the region of the screen that needs to be redrawn
+    private void markDirty(Rectangle rect) {
+        dirty = dirty == null ? rect : dirty.union(rect);
+    }
+
+    // MODIFIES: this, g
+    // EFFECTS: copies the dirty region of the maze and path layers to the screen, draws the player over it if the
+    //          player is in that region, and marks the screen as up to date
+    private void flush(Graphics g) {
+        if (dirty == null || mazeLayer == null) {
+            return;
+        }
+        Rectangle rect = dirty.intersection(new Rectangle(0, 0, mazeLayer.getWidth(), mazeLayer.getHeight()));
+        dirty = null;
+        if (rect.isEmpty()) {
+            return;
+        }
+        blit(g, mazeLayer, rect);
+        blit(g, pathLayer, rect);
+        if (player != null && rect.intersects(cellBounds(player.getPosition()))) {
+            drawPlayer(g, player);
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws the part of image inside rect at the same place on g
+    private static void blit(Graphics g, Image image, Rectangle rect) {
+        int x2 = rect.x + rect.width;
+        int y2 = rect.y + rect.height;
+        g.drawImage(image, rect.x, rect.y, x2, y2, rect.x, rect.y, x2, y2, null);
+    }
+
+    // EFFECTS: produces the rectangle (in pixels) covered by the cell at pos
+    private static Rectangle cellBounds(Position pos) {
+        return new Rectangle(pos.getPosX() * CELL_LENGTH, pos.getPosY() * CELL_LENGTH, CELL_LENGTH, CELL_LENGTH);
+    }
+
+    // MODIFIES: g
+    // EFFECTS: fills every horizontal run of PATH cells in row y of maze with current color of g; reads the row a word
+    //          (ImmutableMaze.WORD_LENGTH cells) at a time and finds the ends of each run with bit operations
+    private void paintRow(Graphics g, ImmutableMaze maze, int y) {
+        int runStart = -1;
+        for (int word = 0; word < maze.getRowWordCount(); word++) {
+            long bits = maze.getRowWord(y, word);
+            int base = word * ImmutableMaze.WORD_LENGTH;
+            int offset = 0;
+            while (offset < ImmutableMaze.WORD_LENGTH) {
+                // when looking for the end of a run, only the bits from offset up belong to this word
+                long remaining = runStart < 0 ? bits >>> offset : ~(bits >>> offset) & (-1L >>> offset);
+                if (remaining == 0) {
+                    break;
+                }
+                offset += Long.numberOfTrailingZeros(remaining);
+                if (runStart < 0) {
+                    runStart = base + offset;
+                } else {
+                    fillRun(g, runStart, base + offset, y);
+                    runStart = -1;
                 }
-                cornerX += CELL_LENGTH;
             }
-            cornerX = CELL_LENGTH;
-            cornerY += CELL_LENGTH;
         }
+        if (runStart >= 0) {
+            fillRun(g, runStart, maze.getSize(), y);
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: fills cells [startX, endX) of row y with current color of g
+    private void fillRun(Graphics g, int startX, int endX, int y) {
+        g.fillRect(startX * CELL_LENGTH, y * CELL_LENGTH, (endX - startX) * CELL_LENGTH, CELL_LENGTH);
     }
 
-    // MODIFIES: g, p
-    // EFFECTS: applies move to Player and repaints, changes g's color to PLAYER_COLOR
+    // MODIFIES: this, g, p
+    // EFFECTS: applies move to Player and repaints the cells it left and entered
     public void movePlayer(Graphics g, Move m, Player p) {
-        g.setColor(Color.white);
-        fill(g, p.getPosition());
+        player = p;
+        markDirty(cellBounds(p.getPosition()));
         p.tryMove(m);
-        paintPlayer(g, p);
+        markDirty(cellBounds(p.getPosition()));
+        flush(g);
+    }
+
+    // MODIFIES: this, g
+    // EFFECTS: draws player at current position on top of the layers, changes g's color to PLAYER_COLOR
+    public void paintPlayer(Graphics g, Player p) {
+        player = p;
+        drawPlayer(g, p);
     }
 
     // MODIFIES: g
     // EFFECTS: draws player at current position, changes g's color to PLAYER_COLOR
-    public void paintPlayer(Graphics g, Player p) {
+    private void drawPlayer(Graphics g, Player p) {
         g.setColor(PLAYER_COLOR);
         g.fillRect(CELL_LENGTH * (p.getPosition().getPosX()) + ((CELL_LENGTH - PLAYER_WIDTH) / 2),
                    CELL_LENGTH * (p.getPosition().getPosY()) + ((CELL_LENGTH - PLAYER_WIDTH) / 2),
@@ -92,110 +219,122 @@ public final class Canvas extends JPanel {
                       PLAYER_WIDTH);
     }
 
+    // REQUIRES: maze has been painted
     // MODIFIES: this, g
-    // EFFECTS: resets path handling & draws given path; changes color of g
-    public void paintSingularPath(Graphics g, Path p) {
-        wipePathCells(g, pathEngine.getPlaced());
-        pathEngine = new PathEngine();
-        g.setColor(PATH_COLOR);
-        for (PathNode n : p.getNodes()) {
-            paintPathNode(g, n);
-        }
-        // paint head/tail
-        g.setColor(HEAD_COLOR);
-        paintPathNode(g, p.getTail());
+    // EFFECTS: sets the cell at (x, y) of the maze layer to PATH (white) or WALL (black) and repaints that cell
+    public void paintCell(Graphics g, int x, int y, boolean path) {
+        Graphics2D layer = mazeLayer.createGraphics();
+        layer.setColor(path ? Color.WHITE : Color.BLACK);
+        fill(layer, new Position(x, y));
+        layer.dispose();
+        flush(g);
     }
 
-    // MODIFIES: this, g, solver
-    // EFFECTS: changes g's color, ticks solver to completion; if animate is true, animates the intermediate steps (at
-    //          FPS steps per second), else simply draws the solution path
-    public void paintSolver(Graphics g, ImmutableMaze maze, MazeSolver solver, boolean animate)
-            throws InterruptedException {
-        paintMaze(g, maze);
-        pathEngine = new PathEngine();
-
-        for (Path p : solver) {
-            if (animate) {
-                paintPathAnimate(g, p);
-                Thread.sleep(DELAY);
-            }
+    // REQUIRES: maze has been painted
+    // MODIFIES: this, g
+    // EFFECTS: sets the cells in carved to PATH (white) on the maze layer and repaints just the region they cover; used
+    //          to animate generation a batch of steps at a time
+    public void paintCarved(Graphics g, CellDeltas carved) {
+        Graphics2D layer = mazeLayer.createGraphics();
+        layer.setColor(Color.WHITE);
+        for (int i = 0; i < carved.size(); i++) {
+            fill(layer, carved.getX(i), carved.getY(i));
         }
-
-        if (!animate)
-            paintSingularPath(g, solver.getPath());
+        layer.dispose();
+        flush(g);
     }
 
-    public void paintAStar(Graphics g, ImmutableMaze maze, MazeSolver solver, boolean animate)
-            throws InterruptedException {
-        if (!animate) {
-            paintSolver(g, maze, solver, false);
-        } else {
-            paintMaze(g, maze);
-            assert solver instanceof AStar;
-
-            Iterator<Path> iterator = solver.iterator();
-            AStar astar = (AStar) solver;
-            while (iterator.hasNext()) {
-                iterator.next();
-
-                fill(g, astar.getRemoved(), HEAD_COLOR);
-                g.setColor(PATH_COLOR);
-                fillAll(g, astar.getAdded());
-
-                Thread.sleep(DELAY);
-            }
-
-            paintMaze(g, maze);
-            paintSingularPath(g, solver.getPath());
+    // MODIFIES: this, g
+    // EFFECTS: erases whatever path is drawn & draws given path
+    public void paintSingularPath(Graphics g, Path p) {
+        clearPathLayer();
+        markDirty(0, 0, pathLayer.getWidth(), pathLayer.getHeight());
+        Graphics2D layer = pathLayer.createGraphics();
+        layer.setColor(PATH_COLOR);
+        for (PathNode n : p.getNodes()) {
+            paintPathNode(layer, n);
         }
+        // paint head/tail
+        layer.setColor(HEAD_COLOR);
+        paintPathNode(layer, p.getTail());
+        layer.dispose();
+        flush(g);
     }
 
     // MODIFIES: this, g
-    // EFFECTS: paints all nodes in the given path & changes g's color
-    private void paintPathAnimate(Graphics g, Path p) {
-        pathEngine.addPath(p);
-        wipePathCells(g, pathEngine.getToWipe());
-
-        List<PathNode> toPaint = pathEngine.getToPlace();
-        if (toPaint.size() > 0) {
-            g.setColor(HEAD_COLOR);
-            for (int i = 0; i < toPaint.size() - 1; i++) {
-                paintPathNode(g, toPaint.get(i));
+    // EFFECTS: paints one step of an animated path: erases the nodes in toWipe, then paints the nodes in toPlace (in
+    //          the order produced by PathEngine, so the last node is the one the new nodes branch from)
+    public void paintPathDiff(Graphics g, List<PathNode> toWipe, List<PathNode> toPlace) {
+        Graphics2D layer = pathLayer.createGraphics();
+        wipePathCells(layer, toWipe);
+
+        if (toPlace.size() > 0) {
+            layer.setColor(HEAD_COLOR);
+            for (int i = 0; i < toPlace.size() - 1; i++) {
+                paintPathNode(layer, toPlace.get(i));
             }
             // paint head/tail
-            g.setColor(PATH_COLOR);
-            paintPathNode(g, toPaint.get(toPaint.size() - 1));
+            layer.setColor(PATH_COLOR);
+            paintPathNode(layer, toPlace.get(toPlace.size() - 1));
         }
+        layer.dispose();
+        flush(g);
     }
 
-    // MODIFIES: g
-    // EFFECTS: places white cells on all positions in given list & sets g's color to Color.WHITE
-    public void wipePathCells(Graphics g, List<PathNode> cells) {
-        g.setColor(Color.WHITE);
+    // MODIFIES: this, g
+    // EFFECTS: paints one step of an animated A* search: the cell that was expanded (if any) and the cells that were
+    //          added to the frontier
+    public void paintFrontier(Graphics g, Position removed, Collection<? extends Position> added) {
+        Graphics2D layer = pathLayer.createGraphics();
+        if (removed != null) {
+            fill(layer, removed, HEAD_COLOR);
+        }
+        layer.setColor(PATH_COLOR);
+        fillAll(layer, added);
+        layer.dispose();
+        flush(g);
+    }
+
+    // MODIFIES: this, layer
+    // EFFECTS: erases all nodes in given list from the path layer that layer draws on; changes layer's composite
+    private void wipePathCells(Graphics2D layer, List<PathNode> cells) {
+        Composite composite = layer.getComposite();
+        layer.setComposite(AlphaComposite.Clear);
         for (PathNode cell : cells) {
-            paintPathNode(g, cell);
+            paintPathNode(layer, cell);
         }
+        layer.setComposite(composite);
     }
 
+    // MODIFIES: this, g
     // EFFECTS: fills all cells in toFill with current color of g
     private void fillAll(Graphics g, Collection<? extends Position> toFill) {
         for (Position p : toFill) fill(g, p);
     }
 
-    // EFFECTS: fills cell with specified Position with current color of g
+    // MODIFIES: this, g
+    // EFFECTS: fills cell with specified Position with current color of g, which draws on one of the layers
     private void fill(Graphics g, Position pos) {
-        g.fillRect(pos.getPosX() * CELL_LENGTH, pos.getPosY() * CELL_LENGTH, CELL_LENGTH, CELL_LENGTH);
+        fill(g, pos.getPosX(), pos.getPosY());
     }
 
-    // MODIFIES: g
+    // MODIFIES: this, g
+    // EFFECTS: fills cell (x, y) with current color of g, which draws on one of the layers
+    private void fill(Graphics g, int x, int y) {
+        g.fillRect(x * CELL_LENGTH, y * CELL_LENGTH, CELL_LENGTH, CELL_LENGTH);
+        markDirty(x * CELL_LENGTH, y * CELL_LENGTH, CELL_LENGTH, CELL_LENGTH);
+    }
+
+    // MODIFIES: this, g
     // EFFECTS: sets color of g to c, fills cell with specified Position with specified color
-    public void fill(Graphics g, Position pos, Color c) {
+    private void fill(Graphics g, Position pos, Color c) {
         g.setColor(c);
         fill(g, pos);
     }
 
     // REQUIRES: g.setColor() must be set to appropriate color prior to calling this method (for efficiency)
-    // EFFECTS: paints given PathNode
+    // MODIFIES: this, g
+    // EFFECTS: paints given PathNode on g, which draws on one of the layers
     private void paintPathNode(Graphics g, PathNode p) {
         Rectangle rect;
         if (p.getDirection() == null) {
@@ -214,6 +353,7 @@ public final class Canvas extends JPanel {
                 return;
         }
         g.fillRect(rect.x, rect.y, rect.width, rect.height);
+        markDirty(rect);
     }
 
     // REQUIRES: direction is one-of UP or DOWN
@@ -237,18 +377,19 @@ public final class Canvas extends JPanel {
                 PATH_WIDTH);
     }
 
-    // MODIFIES: g
+    // MODIFIES: this, g
     // EFFECTS: paints a win message, changes g's color, tries to draw a congratulations image (prints error msg to
     //          console on failure)
     public void paintWin(Graphics g) {
+        showingWin = true;
         wipeScreen(g);
         g.setColor(Color.WHITE);
 
         g.setFont(MazeGame.HEADER);
         FontMetrics fm = g.getFontMetrics();
         Rectangle2D r = fm.getStringBounds(WIN_MESSAGE, g);
-        int x = ((CELL_LENGTH * Maze.MAX_SIZE) - (int) r.getWidth()) / 2;
-        int y = ((CELL_LENGTH * (Maze.MAX_SIZE - 15)) - (int) r.getHeight()) / 2 + fm.getAscent();
+        int x = ((CELL_LENGTH * MazeGame.MAX_SIZE) - (int) r.getWidth()) / 2;
+        int y = ((CELL_LENGTH * (MazeGame.MAX_SIZE - 15)) - (int) r.getHeight()) / 2 + fm.getAscent();
         g.drawString(WIN_MESSAGE, x, y);
     }
 
@@ -1,10 +1,9 @@
 package ui.graphics;
 
-import model.maze.ImmutableMaze;
+import model.maze.DistanceField;
 import model.maze.Maze;
-import model.solver.AStar;
-import model.solver.MazeSolver;
-import model.solver.backtracker.Backtracker;
+import model.moveable.Move;
+import model.solver.SolverType;
 import ui.controller.MazeGame;
 
 import javax.swing.*;
@@ -21,16 +20,20 @@ public class ConfigPanel extends JPanel {
     private MazeGame mazeGame;
     // genPanel
     private JSpinner sizeSpinner;
-    //    private JCheckBox animateGeneration;
+    private JCheckBox animateGeneration;
     private JButton generateMaze;
     private JButton blankMaze;
     // solvePanel
     private JCheckBox animateSolve;
     private JButton solveMaze;
+    private JLabel ticks;
+    private JLabel toGoal;
+    private JLabel solvable;
     // algoPanel
     private ButtonGroup algorithm;
     private JRadioButton backtracker;
     private JRadioButton astar;
+    private JRadioButton lpaStar;
     // miscPanel
     private JButton save;
     private JButton load;
@@ -59,7 +62,7 @@ public class ConfigPanel extends JPanel {
     // MODIFIES: this
     // EFFECTS: produces the generation panel and initializes associated variables
     private Component getGenerationPanel(int size) {
-        JPanel genPanel = makePanel("Generate Maze", 120); // 120 w/ animateGeneration
+        JPanel genPanel = makePanel("Generate Maze", 140);
         GridBagConstraints c = new GridBagConstraints();
         c.fill = GridBagConstraints.NONE;
 
@@ -70,7 +73,7 @@ public class ConfigPanel extends JPanel {
         c.gridx = 0;
         c.gridy = 0;
         c.gridwidth = 1;
-        sizeSpinner = new JSpinner(new SpinnerNumberModel(size, Maze.MIN_SIZE, Maze.MAX_SIZE, 2));
+        sizeSpinner = new JSpinner(new SpinnerNumberModel(size, Maze.MIN_SIZE, MazeGame.MAX_SIZE, 2));
         addLabelledComponent(genPanel, sizeSpinner, "Size: ", c);
         sizeSpinner.setFocusable(false);
         JSpinner.DefaultEditor editor = (JSpinner.DefaultEditor) sizeSpinner.getEditor();
@@ -96,18 +99,19 @@ public class ConfigPanel extends JPanel {
 
 
         // AnimateGeneration CheckBox
-        c.gridy = 2;
-//        animateGeneration = new JCheckBox("Animate");
-//        animateGeneration.setBackground(MazeGame.BACKGROUND);
-//        animateGeneration.setForeground(MazeGame.TEXT_COLOR);
-//        genPanel.add(animateGeneration, c);
+        c.gridy = 3;
+        animateGeneration = new JCheckBox("Animate");
+        animateGeneration.setBackground(MazeGame.BACKGROUND);
+        animateGeneration.setForeground(MazeGame.TEXT_COLOR);
+        animateGeneration.setFocusable(false);
+        genPanel.add(animateGeneration, c);
         return genPanel;
     }
 
     // MODIFIES: this
     // EFFECTS: produces the solver panel and initializes associated variables
     private Component getSolverPanel() {
-        JPanel solverPanel = makePanel("Solve Maze", 90);
+        JPanel solverPanel = makePanel("Solve Maze", 150);
         GridBagConstraints c = new GridBagConstraints();
         c.fill = GridBagConstraints.NONE;
         c.weighty = 0.5;
@@ -129,6 +133,21 @@ public class ConfigPanel extends JPanel {
         animateSolve.setFocusable(false);
         solverPanel.add(animateSolve, c);
 
+        // Ticks Label
+        c.gridy = 2;
+        ticks = makeLabel("Ticks: 0");
+        solverPanel.add(ticks, c);
+
+        // Distance Label
+        c.gridy = 3;
+        toGoal = makeLabel("To goal: -");
+        solverPanel.add(toGoal, c);
+
+        // Solvability Label
+        c.gridy = 4;
+        solvable = makeLabel("Solvable");
+        solverPanel.add(solvable, c);
+
         return solverPanel;
     }
 
@@ -144,6 +163,7 @@ public class ConfigPanel extends JPanel {
 
         backtracker = makeAlgorithmButton(container, "Backtracker", true);
         astar = makeAlgorithmButton(container, "A*", false);
+        lpaStar = makeAlgorithmButton(container, "LPA* (incremental)", false);
 
         return container;
     }
@@ -165,7 +185,7 @@ public class ConfigPanel extends JPanel {
     // MODIFIES: this
     // EFFECTS: produces the algorithms panel and initializes associated variables
     private Component getAlgorithmsPanel() {
-        JPanel algoPanel = makePanel("Solving Algorithm", 80);
+        JPanel algoPanel = makePanel("Solving Algorithm", 100);
         GridBagConstraints c = new GridBagConstraints();
         c.fill = GridBagConstraints.NONE;
         c.weighty = 0.5;
@@ -255,11 +275,23 @@ public class ConfigPanel extends JPanel {
     private void addActionHandlers() {
         sizeSpinner.addChangeListener(e -> mazeGame.setSize((int) sizeSpinner.getValue()));
 
-        generateMaze.addActionListener(e -> mazeGame.generateNewMaze(false));
+        generateMaze.addActionListener(e -> {
+            if (animateGeneration.isSelected()) {
+                mazeGame.animateNewMaze();
+            } else {
+                mazeGame.generateNewMaze(false);
+            }
+        });
 
         blankMaze.addActionListener(e -> mazeGame.generateNewMaze(true));
 
-        solveMaze.addActionListener(e -> mazeGame.solve(animateSolve.isSelected()));
+        solveMaze.addActionListener(e -> {
+            if (mazeGame.isSolving()) {
+                mazeGame.reset();
+            } else {
+                mazeGame.solve(animateSolve.isSelected());
+            }
+        });
 
         save.addActionListener(e -> mazeGame.save());
 
@@ -272,13 +304,47 @@ public class ConfigPanel extends JPanel {
         });
     }
 
-    // EFFECTS: return solver of selected type
-    public MazeSolver getSelectedSolver(ImmutableMaze maze) {
-        return backtracker.isSelected() ? new Backtracker(maze) : new AStar(maze);
+    // EFFECTS: return the selected type of solver
+    public SolverType getSelectedSolverType() {
+        if (backtracker.isSelected()) {
+            return SolverType.BACKTRACKER;
+        }
+        return astar.isSelected() ? SolverType.ASTAR : SolverType.LPASTAR;
     }
 
     public void setSize(int size) {
         sizeSpinner.setValue(size);
     }
 
+    // MODIFIES: this
+    // EFFECTS: turns the solve button into a cancel button while a solver is running, and back when it is not
+    public void setSolving(boolean solving) {
+        solveMaze.setText(solving ? "Cancel" : "Solve Maze");
+        if (solving) {
+            setTicks(0);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the number of ticks the current solver has taken
+    public void setTicks(int count) {
+        ticks.setText("Ticks: " + count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows whether the goal can be reached from the start
+    public void setSolvable(boolean solvable) {
+        this.solvable.setText(solvable ? "Solvable" : "Unsolvable");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows how many moves the player is from the goal (see DistanceField) and a move that brings them closer
+    public void setDistance(int distance, Move hint) {
+        if (distance == DistanceField.UNREACHABLE) {
+            toGoal.setText("To goal: -");
+        } else {
+            toGoal.setText("To goal: " + distance + (hint == null ? "" : " (" + hint.name().toLowerCase() + ")"));
+        }
+    }
+
 }
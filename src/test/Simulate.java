@@ -1,52 +1,32 @@
-import model.generator.MazeGenerator;
-import model.maze.Maze;
-import model.path.Path;
 import model.solver.AStar;
+import model.sweep.ParameterSweep;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class Simulate {
 
     private static final int SIZE = 81;
-    private Map<Double, Integer> tickCount;
+    private static final int MAZES = 1000;
 
     @Test
     public void findBestC() {
-        tickCount = new HashMap<>();
-        MazeGenerator generator = new MazeGenerator(SIZE);
-        Maze maze;
-        AStar solver;
-        int ticks;
-        for (double i = 0; i <= 1; i += 0.01) {
-            tickCount.put(i, 0);
-        }
-
-        for (int iteration = 0; iteration < 1000; iteration++) {
-            maze = generator.generateMaze();
-            for (double i = 0; i <= 1; i += 0.01) {
-                solver = new AStar(maze, i);
-                ticks = 0;
-                for (Path p : solver) {
-                    ticks++;
-                }
-                tickCount.put(i, tickCount.get(i) + ticks);
-            }
-        }
+        // weightings 0, 0.01, ..., 1 of the path length in AStar's f-score
+        ParameterSweep sweep = new ParameterSweep(SIZE, MAZES, 0, ParameterSweep.range(0, 1, 101),
+                (maze, c) -> new AStar(maze, c));
+        List<ParameterSweep.Result> results = sweep.run(ForkJoinPool.commonPool());
 
-        double bestC = -1;
-        int min = Integer.MAX_VALUE;
-        int count;
-        for (Double d : tickCount.keySet()) {
-            count = tickCount.get(d);
-            System.out.println(d + ": " + count);
-            if (count < min) {
-                bestC = d;
-                min = count;
+        ParameterSweep.Result best = results.get(0);
+        for (ParameterSweep.Result result : results) {
+            System.out.println(result.getParameter() + ": ticks " + result.getTicks()
+                    + ", expanded " + result.getNodesExpanded()
+                    + String.format(", %.1f us", result.getNanos().getMean() / 1000));
+            if (result.getTicks().getMean() < best.getTicks().getMean()) {
+                best = result;
             }
         }
-        System.out.println("Best C:\n" + bestC + "tick-count: " + min);
+        System.out.println("Best C:\n" + best.getParameter() + " tick-count: " + best.getTicks());
     }
 
 }
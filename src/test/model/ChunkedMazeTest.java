@@ -0,0 +1,154 @@
+package model;
+
+import model.generator.GeneratorType;
+import model.maze.ChunkedMaze;
+import model.maze.ImmutableMaze;
+import model.maze.Maze;
+import model.moveable.Move;
+import model.moveable.Player;
+import model.path.Path;
+import model.path.Position;
+import model.solver.AStar;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedMazeTest {
+
+    private static final int CHUNKS = 4;
+    private static final int SIZE = CHUNKS * ChunkedMaze.CHUNK_SIZE + 1;
+
+    private ChunkedMaze maze;
+
+    @BeforeEach
+    public void setup() {
+        maze = new ChunkedMaze(3, CHUNKS, GeneratorType.DFS, 4);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(SIZE, maze.getSize());
+        assertEquals(CHUNKS, maze.getChunks());
+        assertEquals(0, maze.getChunksGenerated());
+        assertTrue(maze.isPath(1, 1));
+        assertTrue(maze.isPath(SIZE - 2, SIZE - 2));
+        // generated lazily: only the chunks at the start and goal
+        assertEquals(2, maze.getChunksGenerated());
+    }
+
+    @Test
+    public void testSurroundings() {
+        for (int i = 0; i < SIZE; i++) {
+            assertFalse(maze.isPath(i, 0));
+            assertFalse(maze.isPath(0, i));
+            assertFalse(maze.isPath(i, SIZE - 1));
+            assertFalse(maze.isPath(SIZE - 1, i));
+        }
+    }
+
+    @Test
+    public void testConnected() {
+        // every vertex of every chunk can be reached from the start, though cells are read far more times than the
+        // cache can hold chunks
+        int vertices = 0;
+        for (int y = 1; y < SIZE; y += 2) {
+            for (int x = 1; x < SIZE; x += 2) {
+                vertices++;
+            }
+        }
+        assertEquals(vertices, countReachableVertices(maze));
+        assertTrue(maze.getCachedChunks() <= 4);
+        assertTrue(maze.getChunksGenerated() > CHUNKS * CHUNKS);
+    }
+
+    @Test
+    public void testDeterministic() {
+        ChunkedMaze same = new ChunkedMaze(3, CHUNKS, GeneratorType.DFS, ChunkedMaze.DEFAULT_CACHE_CAPACITY);
+        ChunkedMaze other = new ChunkedMaze(4, CHUNKS, GeneratorType.DFS, ChunkedMaze.DEFAULT_CACHE_CAPACITY);
+        // maze only caches 4 chunks, so it regenerates chunks after evicting them, while same generates each once
+        boolean differs = false;
+        for (int y = SIZE - 1; y >= 0; y--) {
+            for (int x = SIZE - 1; x >= 0; x--) {
+                assertEquals(same.isPath(x, y), maze.isPath(x, y));
+                differs |= other.isPath(x, y) != same.isPath(x, y);
+            }
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    public void testRowWords() {
+        assertEquals(CHUNKS + 1, maze.getRowWordCount());
+        for (int y = 0; y < SIZE; y++) {
+            for (int word = 0; word <= CHUNKS; word++) {
+                long expected = 0;
+                for (int i = 0; i < ImmutableMaze.WORD_LENGTH && word * ImmutableMaze.WORD_LENGTH + i < SIZE; i++) {
+                    expected |= maze.isPath(word * ImmutableMaze.WORD_LENGTH + i, y) ? 1L << i : 0;
+                }
+                assertEquals(expected, maze.getRowWord(y, word));
+            }
+        }
+    }
+
+    @Test
+    public void testView() {
+        Maze view = maze.getView(1, 2, 2);
+        assertEquals(2 * ChunkedMaze.CHUNK_SIZE + 1, view.getSize());
+        for (int y = 1; y < view.getSize() - 1; y++) {
+            for (int x = 1; x < view.getSize() - 1; x++) {
+                assertEquals(maze.isPath(ChunkedMaze.CHUNK_SIZE + x, 2 * ChunkedMaze.CHUNK_SIZE + y),
+                        view.isPath(x, y));
+            }
+        }
+        AStar solver = new AStar(view);
+        for (Path ignored : solver) {
+            // run the solver to completion
+        }
+        assertNotNull(solver.getPath());
+    }
+
+    @Test
+    public void testUnboundedWorld() {
+        ChunkedMaze world = new ChunkedMaze(7);
+        assertEquals(ChunkedMaze.MAX_CHUNKS * ChunkedMaze.CHUNK_SIZE + 1, world.getSize());
+        Player player = new Player(world);
+        player.tryMove(world.isPath(2, 1) ? Move.RIGHT : Move.DOWN);
+        assertNotEquals(new Position(1, 1), player.getPosition());
+        assertTrue(world.isPath(world.getSize() - 2, world.getSize() - 2));
+        assertEquals(2, world.getCachedChunks());
+    }
+
+    @Test
+    public void testToJson() {
+        JSONObject obj = maze.toJson();
+        assertEquals(3, obj.getLong("seed"));
+        assertEquals(CHUNKS, obj.getInt("chunks"));
+        assertEquals("DFS", obj.getString("generator"));
+    }
+
+    // EFFECTS: produces the number of vertices (cells with odd coordinates) of maze reachable from (1, 1)
+    private static int countReachableVertices(ImmutableMaze maze) {
+        int size = maze.getSize();
+        boolean[] seen = new boolean[size * size];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(size + 1);
+        seen[size + 1] = true;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            count += (cell % size) % 2 == 1 && (cell / size) % 2 == 1 ? 1 : 0;
+            for (int next : new int[]{cell - 1, cell + 1, cell - size, cell + size}) {
+                if (!seen[next] && maze.isPath(next % size, next / size)) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,154 @@
+package model;
+
+import model.generator.MazeGenerator;
+import model.maze.ConnectivityIndex;
+import model.maze.Maze;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectivityIndexTest {
+
+    private static final int SIZE = 21;
+
+    private Maze maze;
+    private ConnectivityIndex index;
+
+    @BeforeEach
+    public void setup() {
+        maze = new MazeGenerator(SIZE, 9).generateMaze();
+        index = new ConnectivityIndex(maze);
+    }
+
+    @Test
+    public void testGeneratedMaze() {
+        assertTrue(index.isSolvable());
+        assertEquals(1, index.getComponentCount());
+        assertEquals(ConnectivityIndex.NONE, index.getComponent(0, 0));
+        assertEquals(0, index.getComponentSize(0, 0));
+        assertFalse(index.isConnected(0, 0, 1, 1));
+        assertEquals(countPaths(), index.getComponentSize(1, 1));
+    }
+
+    @Test
+    public void testBlockAndReopen() {
+        // in a perfect maze every cell between two vertices is a bridge, so walling in the start leaves it, and the
+        // subtree behind each wall, on its own
+        int open = (maze.isPath(2, 1) ? 1 : 0) + (maze.isPath(1, 2) ? 1 : 0);
+        maze.setCell(2, 1, Maze.WALL);
+        maze.setCell(1, 2, Maze.WALL);
+        assertFalse(index.isSolvable());
+        assertEquals(1 + open, index.getComponentCount());
+        assertEquals(1, index.getComponentSize(1, 1));
+        maze.setCell(2, 1, Maze.PATH);
+        maze.setCell(1, 2, Maze.PATH);
+        assertTrue(index.isSolvable());
+        assertEquals(1, index.getComponentCount());
+        assertEquals(countPaths(), index.getComponentSize(1, 1));
+    }
+
+    @Test
+    public void testBlankMaze() {
+        maze = MazeGenerator.generateBlankMaze(SIZE);
+        index = new ConnectivityIndex(maze);
+        // a wall across all but one cell of a row leaves it connected; closing the gap splits it
+        for (int x = 1; x < SIZE - 2; x++) {
+            maze.setCell(x, 5, Maze.WALL);
+            assertTrue(index.isSolvable());
+        }
+        maze.setCell(SIZE - 2, 5, Maze.WALL);
+        assertFalse(index.isSolvable());
+        assertEquals(2, index.getComponentCount());
+        assertEquals(4 * (SIZE - 2), index.getComponentSize(1, 1));
+    }
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(4);
+        for (int i = 0; i < 3000; i++) {
+            int x = 1 + random.nextInt(SIZE - 2);
+            int y = 1 + random.nextInt(SIZE - 2);
+            boolean value = random.nextInt(3) == 0;
+            if ((x == 1 && y == 1) || (x == SIZE - 2 && y == SIZE - 2)) {
+                // the start and goal may only be set to PATH
+                continue;
+            }
+            maze.setCell(x, y, value);
+            if (i % 50 == 0) {
+                assertMatchesSearch();
+            }
+        }
+        assertMatchesSearch();
+    }
+
+    @Test
+    public void testDetach() {
+        index.detach();
+        maze.setCell(1, 1, Maze.WALL);
+        assertEquals(1, index.getComponentCount());
+        assertEquals(countPaths() + 1, index.getComponentSize(SIZE - 2, SIZE - 2));
+    }
+
+    // EFFECTS: fails unless two cells share a component exactly when a breadth-first search from one reaches the
+    //          other, and the component count and sizes agree with the searches
+    private void assertMatchesSearch() {
+        int[] component = new int[SIZE * SIZE];
+        Arrays.fill(component, -1);
+        int components = 0;
+        for (int cell = 0; cell < component.length; cell++) {
+            if (component[cell] == -1 && maze.isPath(cell)) {
+                int count = search(cell, components++, component);
+                assertEquals(count, index.getComponentSize(cell % SIZE, cell / SIZE));
+            }
+        }
+        assertEquals(components, index.getComponentCount());
+        int[] idOf = new int[components];
+        Arrays.fill(idOf, ConnectivityIndex.NONE);
+        for (int cell = 0; cell < component.length; cell++) {
+            int id = index.getComponent(cell % SIZE, cell / SIZE);
+            if (component[cell] == -1) {
+                assertEquals(ConnectivityIndex.NONE, id);
+            } else if (idOf[component[cell]] == ConnectivityIndex.NONE) {
+                idOf[component[cell]] = id;
+            } else {
+                assertEquals(idOf[component[cell]], id);
+            }
+        }
+        assertEquals(components, Arrays.stream(idOf).distinct().count());
+    }
+
+    // MODIFIES: component
+    // EFFECTS: marks the cells reachable from start with given number and produces how many there are
+    private int search(int start, int number, int[] component) {
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        component[start] = number;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            count++;
+            for (int next : new int[]{cell - 1, cell + 1, cell - SIZE, cell + SIZE}) {
+                if (component[next] == -1 && maze.isPath(next)) {
+                    component[next] = number;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: produces the number of PATH cells in maze
+    private int countPaths() {
+        int paths = 0;
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            paths += maze.isPath(cell) ? 1 : 0;
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,134 @@
+package model;
+
+import model.generator.MazeGenerator;
+import model.maze.DistanceField;
+import model.maze.Maze;
+import model.moveable.Move;
+import model.moveable.Player;
+import model.path.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceFieldTest {
+
+    private static final int SIZE = 21;
+
+    private Maze maze;
+    private DistanceField field;
+
+    @BeforeEach
+    public void setup() {
+        maze = new MazeGenerator(SIZE, 11).generateMaze();
+        field = new DistanceField(maze);
+    }
+
+    @Test
+    public void testGeneratedMaze() {
+        assertMatchesSearch();
+        assertEquals(0, field.getDistance(SIZE - 2, SIZE - 2));
+        assertNull(field.getBestMove(SIZE - 2, SIZE - 2));
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(0, 0));
+        assertNull(field.getBestMove(0, 0));
+    }
+
+    @Test
+    public void testFollowBestMoves() {
+        // following the hints walks the shortest path, one step closer each move
+        Player player = new Player(maze);
+        int distance = field.getDistance(player.getPosition());
+        while (distance > 0) {
+            player.tryMove(field.getBestMove(player.getPosition()));
+            assertEquals(--distance, field.getDistance(player.getPosition()));
+        }
+        assertEquals(new Position(SIZE - 2, SIZE - 2), player.getPosition());
+    }
+
+    @Test
+    public void testBlankMaze() {
+        maze = MazeGenerator.generateBlankMaze(SIZE);
+        field = new DistanceField(maze);
+        assertEquals(2 * (SIZE - 3), field.getDistance(1, 1));
+        // a wall across all but the first cell of a row makes the walk from above go around it
+        for (int x = 2; x < SIZE - 1; x++) {
+            maze.setCell(x, 5, Maze.WALL);
+        }
+        assertMatchesSearch();
+        assertEquals(Move.DOWN, field.getBestMove(1, 1));
+        assertEquals(Move.LEFT, field.getBestMove(SIZE - 2, 4));
+        maze.setCell(1, 5, Maze.WALL);
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(1, 1));
+        assertEquals(1, field.getDistance(SIZE - 2, SIZE - 3));
+    }
+
+    @Test
+    public void testBlockGoal() {
+        // the goal itself must stay PATH, so cut it off by walling both of its neighbours
+        boolean left = maze.isPath(SIZE - 3, SIZE - 2);
+        boolean up = maze.isPath(SIZE - 2, SIZE - 3);
+        maze.setCell(SIZE - 3, SIZE - 2, Maze.WALL);
+        maze.setCell(SIZE - 2, SIZE - 3, Maze.WALL);
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(1, 1));
+        assertEquals(0, field.getDistance(SIZE - 2, SIZE - 2));
+        assertMatchesSearch();
+        maze.setCell(SIZE - 3, SIZE - 2, left);
+        maze.setCell(SIZE - 2, SIZE - 3, up);
+        assertMatchesSearch();
+    }
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(8);
+        for (int i = 0; i < 3000; i++) {
+            int x = 1 + random.nextInt(SIZE - 2);
+            int y = 1 + random.nextInt(SIZE - 2);
+            boolean value = random.nextInt(3) == 0;
+            if ((x == 1 && y == 1) || (x == SIZE - 2 && y == SIZE - 2)) {
+                // the start and goal may only be set to PATH
+                continue;
+            }
+            maze.setCell(x, y, value);
+            if (i % 50 == 0) {
+                assertMatchesSearch();
+            }
+        }
+        assertMatchesSearch();
+    }
+
+    // EFFECTS: fails unless every distance equals that found by a breadth-first search from the goal, and every best
+    //          move leads one step closer
+    private void assertMatchesSearch() {
+        int[] expected = new int[SIZE * SIZE];
+        Arrays.fill(expected, DistanceField.UNREACHABLE);
+        Deque<Integer> queue = new ArrayDeque<>();
+        int goal = (SIZE - 2) * SIZE + SIZE - 2;
+        if (maze.isPath(goal)) {
+            expected[goal] = 0;
+            queue.add(goal);
+        }
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int next : new int[]{cell - 1, cell + 1, cell - SIZE, cell + SIZE}) {
+                if (expected[next] == DistanceField.UNREACHABLE && maze.isPath(next)) {
+                    expected[next] = expected[cell] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        for (int cell = 0; cell < expected.length; cell++) {
+            int x = cell % SIZE;
+            int y = cell / SIZE;
+            assertEquals(expected[cell], field.getDistance(x, y));
+            Move move = field.getBestMove(x, y);
+            if (move != null) {
+                assertEquals(expected[cell] - 1, field.getDistance(x + move.getDeltaX(), y + move.getDeltaY()));
+            }
+        }
+    }
+}
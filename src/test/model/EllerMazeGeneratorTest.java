@@ -0,0 +1,110 @@
+package model;
+
+import model.generator.EllerMazeGenerator;
+import model.maze.Maze;
+import model.moveable.Player;
+import model.path.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import persistence.JsonReader;
+import persistence.JsonStreamWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EllerMazeGeneratorTest {
+
+    // wider than a word, so rows span several words
+    private static final int SIZE = 131;
+    private static final int VERTICES = (SIZE - 1) / 2;
+
+    private Maze maze;
+
+    @BeforeEach
+    public void setup() {
+        maze = new EllerMazeGenerator(SIZE, 11).generateMaze();
+    }
+
+    @Test
+    public void testUntouchedSurroundings() {
+        for (int i = 0; i < SIZE; i++) {
+            assertFalse(maze.isPath(i, 0));
+            assertFalse(maze.isPath(0, i));
+            assertFalse(maze.isPath(i, SIZE - 1));
+            assertFalse(maze.isPath(SIZE - 1, i));
+        }
+    }
+
+    @Test
+    public void testPerfectMaze() {
+        // a graph of V vertices is a tree iff it is connected and has V - 1 edges
+        int paths = 0;
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                paths += maze.isPath(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(VERTICES * VERTICES - 1, paths - VERTICES * VERTICES);
+        assertEquals(paths, countReachable());
+    }
+
+    @Test
+    public void testMinimumSize() {
+        Maze small = new EllerMazeGenerator(Maze.MIN_SIZE).generateMaze();
+        assertTrue(small.isPath(1, 1));
+        assertTrue(small.isPath(Maze.MIN_SIZE - 2, Maze.MIN_SIZE - 2));
+    }
+
+    @Test
+    public void testRowsInOrder() {
+        int[] next = {0};
+        new EllerMazeGenerator(SIZE, 11).generate((y, row) -> {
+            assertEquals(next[0]++, y);
+            assertEquals(3, row.length);
+        });
+        assertEquals(SIZE, next[0]);
+    }
+
+    @Test
+    public void testStreamToJson() throws IOException {
+        File file = File.createTempFile("eller", ".json");
+        try {
+            JsonStreamWriter writer = new JsonStreamWriter(file.getPath(), SIZE);
+            new EllerMazeGenerator(SIZE, 11).generate(writer);
+            writer.close();
+            assertFalse(writer.checkError());
+
+            JsonReader reader = new JsonReader(file.getPath());
+            Maze read = reader.readMaze();
+            assertEquals(maze.toString(), read.toString());
+            Player player = reader.readPlayer(read);
+            assertEquals(new Position(1, 1), player.getPosition());
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    // EFFECTS: produces the number of path cells reachable from (1, 1)
+    private int countReachable() {
+        boolean[] seen = new boolean[SIZE * SIZE];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(SIZE + 1);
+        seen[SIZE + 1] = true;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            count++;
+            for (int next : new int[]{cell - 1, cell + 1, cell - SIZE, cell + SIZE}) {
+                if (!seen[next] && maze.isPath(next % SIZE, next / SIZE)) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+}
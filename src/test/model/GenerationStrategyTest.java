@@ -0,0 +1,112 @@
+package model;
+
+import model.generator.GeneratorType;
+import model.generator.GrowingTreeGenerator;
+import model.generator.MazeGenerator;
+import model.maze.Maze;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationStrategyTest {
+
+    // wider than a word, so rows span several words
+    private static final int SIZE = 81;
+    private static final int VERTICES = (SIZE - 1) / 2;
+
+    @Test
+    public void testPerfectMazes() {
+        for (GeneratorType type : GeneratorType.values()) {
+            assertPerfect(type.create(SIZE, 5).generateMaze(SIZE), type.toString());
+            assertPerfect(type.create(Maze.MIN_SIZE, 5).generateMaze(Maze.MIN_SIZE), type.toString());
+        }
+    }
+
+    @Test
+    public void testGrowingTreeExtremes() {
+        assertPerfect(new GrowingTreeGenerator(0, 5).generateMaze(SIZE), "random");
+        assertPerfect(new GrowingTreeGenerator(1, 5).generateMaze(SIZE), "newest");
+    }
+
+    @Test
+    public void testGrowingTreeNewestFirst() {
+        // a depth-first search leaves few dead ends and Prim's algorithm many; always picking the newest vertex must
+        // match the dead ends of MazeGenerator's DFS, and a bias towards the newest must pull the count towards it
+        int size = 201;
+        int dfs = countDeadEnds(new MazeGenerator(size, 5).generateMaze());
+        int newest = countDeadEnds(new GrowingTreeGenerator(1, 5).generateMaze(size));
+        int mixed = countDeadEnds(new GrowingTreeGenerator(0.75, 5).generateMaze(size));
+        int random = countDeadEnds(new GrowingTreeGenerator(0, 5).generateMaze(size));
+        assertEquals(dfs, newest, dfs * 0.15);
+        assertTrue(mixed < (newest + random) / 2);
+    }
+
+    @Test
+    public void testDeterministic() {
+        for (GeneratorType type : GeneratorType.values()) {
+            String first = type.create(SIZE, 5).generateMaze(SIZE).toString();
+            assertEquals(first, type.create(SIZE, 5).generateMaze(SIZE).toString(), type.toString());
+            assertNotEquals(first, type.create(SIZE, 6).generateMaze(SIZE).toString(), type.toString());
+        }
+    }
+
+    @Test
+    public void testFromName() {
+        assertEquals(GeneratorType.BINARY_TREE, GeneratorType.fromName("binary_tree"));
+        assertEquals(GeneratorType.DFS, GeneratorType.fromName("DFS"));
+        assertThrows(IllegalArgumentException.class, () -> GeneratorType.fromName("bogus"));
+    }
+
+    // EFFECTS: fails unless maze is surrounded by WALL and its vertices form a tree (a graph of V vertices is a tree
+    //          iff it is connected and has V - 1 edges)
+    private static void assertPerfect(Maze maze, String message) {
+        int size = maze.getSize();
+        int vertices = (size - 1) / 2;
+        int paths = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                assertFalse(border && maze.isPath(x, y), message);
+                paths += maze.isPath(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(vertices * vertices - 1, paths - vertices * vertices, message);
+        assertEquals(paths, countReachable(maze), message);
+    }
+
+    // EFFECTS: produces the number of vertices of maze with a single open neighbour
+    private static int countDeadEnds(Maze maze) {
+        int deadEnds = 0;
+        for (int y = 1; y < maze.getSize() - 1; y += 2) {
+            for (int x = 1; x < maze.getSize() - 1; x += 2) {
+                int open = Integer.bitCount(maze.getOpenDirections(maze.getIndex(x, y)));
+                deadEnds += open == 1 ? 1 : 0;
+            }
+        }
+        return deadEnds;
+    }
+
+    // EFFECTS: produces the number of path cells of maze reachable from (1, 1)
+    private static int countReachable(Maze maze) {
+        int size = maze.getSize();
+        boolean[] seen = new boolean[size * size];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(size + 1);
+        seen[size + 1] = true;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            count++;
+            for (int next : new int[]{cell - 1, cell + 1, cell - size, cell + size}) {
+                if (!seen[next] && maze.isPath(next % size, next / size)) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+}
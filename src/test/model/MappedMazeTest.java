@@ -0,0 +1,114 @@
+package model;
+
+import model.generator.MazeGenerator;
+import model.maze.ImmutableMaze;
+import model.maze.MappedMaze;
+import model.maze.Maze;
+import model.solver.AStar;
+import model.solver.MazeSolver;
+import model.solver.backtracker.Backtracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedMazeTest {
+
+    // wide enough that every row spans several words
+    private static final int SIZE = 2 * ImmutableMaze.WORD_LENGTH + 5;
+
+    private Path file;
+    private MappedMaze maze;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        file = Files.createTempFile("maze", ".bin");
+        maze = MappedMaze.create(file, SIZE);
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        maze.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testCreate() {
+        assertEquals(SIZE, maze.getSize());
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                assertFalse(maze.isPath(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testSetCellMatchesMaze() {
+        Maze compare = new Maze(SIZE);
+        for (int i = 1; i < SIZE - 1; i += 3) {
+            maze.setCell(i, SIZE - 1 - i, Maze.PATH);
+            compare.setCell(i, SIZE - 1 - i, Maze.PATH);
+        }
+        maze.setCell(4, SIZE - 5, Maze.WALL);
+        compare.setCell(4, SIZE - 5, Maze.WALL);
+
+        assertEquals(compare.toString(), maze.toString());
+        for (int y = 0; y < SIZE; y++) {
+            for (int word = 0; word < maze.getRowWordCount(); word++) {
+                assertEquals(compare.getRowWord(y, word), maze.getRowWord(y, word));
+            }
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        maze.setCell(1, 1, Maze.PATH);
+        maze.setCell(SIZE - 2, 3, Maze.PATH);
+        maze.close();
+
+        try (MappedMaze readOnly = MappedMaze.openReadOnly(file)) {
+            assertEquals(SIZE, readOnly.getSize());
+            assertTrue(readOnly.isPath(1, 1));
+            assertTrue(readOnly.isPath(SIZE - 2, 3));
+            assertFalse(readOnly.isPath(2, 1));
+            assertThrows(ReadOnlyBufferException.class, () -> readOnly.setCell(2, 1, Maze.PATH));
+        }
+
+        maze = MappedMaze.open(file);
+        assertTrue(maze.isPath(SIZE - 2, 3));
+    }
+
+    @Test
+    public void testOpenInvalidFile() throws IOException {
+        Path other = Files.createTempFile("notMaze", ".bin");
+        try {
+            MappedMaze.open(other);
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        } finally {
+            Files.deleteIfExists(other);
+        }
+    }
+
+    @Test
+    public void testGenerateAndSolve() {
+        assertSame(maze, new MazeGenerator(SIZE).generateMaze(maze));
+        assertSolves(new AStar(maze));
+        assertSolves(new Backtracker(maze));
+    }
+
+    // tick solver to completion and check that it found a path to the goal
+    private void assertSolves(MazeSolver solver) {
+        for (model.path.Path p : solver) {
+            // tick to completion
+        }
+        assertTrue(solver.getPath().getTail().equals(SIZE - 2, SIZE - 2));
+    }
+}
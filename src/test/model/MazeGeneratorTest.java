@@ -1,5 +1,6 @@
 package model;
 
+import model.generator.CellDeltas;
 import model.generator.MazeGenerator;
 import model.maze.ImmutableMaze;
 import model.maze.Maze;
@@ -94,6 +95,102 @@ public class MazeGeneratorTest {
         }
     }
 
+    @Test
+    public void testSeededGeneration() {
+        // generators with the same seed must produce the same sequence of mazes
+        MazeGenerator first = new MazeGenerator(Maze.MIN_SIZE * 5, 42);
+        MazeGenerator second = new MazeGenerator(Maze.MIN_SIZE * 5, 42);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(first.generateMaze().toString(), second.generateMaze().toString());
+        }
+    }
+
+    @Test
+    public void testPerfectMaze() {
+        // a maze generated from a spanning tree has exactly one fewer edge than vertex; every vertex is PATH, so
+        // counting PATH cells that are not vertices gives the number of edges
+        int size = Maze.MIN_SIZE * 7;
+        maze = mazeGenerator.generateMaze(size);
+        int vertices = (size - 1) / 2;
+        int paths = 0;
+        for (int y = 1; y < size - 1; y++) {
+            for (int x = 1; x < size - 1; x++) {
+                paths += maze.isPath(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(vertices * vertices - 1, paths - vertices * vertices);
+    }
+
+    @Test
+    public void testDeepStack() {
+        // a DFS over this many vertices backtracks through a stack several chunks deep; generating twice from one
+        // generator reuses those chunks, and must still match a fresh generator with the same seed
+        int size = 1001;
+        int vertices = (size - 1) / 2;
+        MazeGenerator reused = new MazeGenerator(size, 3);
+        reused.generateMaze();
+        MazeGenerator fresh = new MazeGenerator(size, 3);
+        fresh.generateMaze();
+        maze = reused.generateMaze();
+        assertEquals(fresh.generateMaze().toString(), maze.toString());
+        int paths = 0;
+        for (int y = 1; y < size - 1; y++) {
+            for (int x = 1; x < size - 1; x++) {
+                paths += maze.isPath(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(vertices * vertices - 1, paths - vertices * vertices);
+    }
+
+    @Test
+    public void testStepwiseMatchesGenerateMaze() {
+        // stepping a generator one passage at a time must carve the same maze as generating it all at once, and report
+        // exactly the cells that each step set to PATH
+        int size = Maze.MIN_SIZE * 5;
+        int vertices = (size - 1) / 2;
+        Maze whole = new MazeGenerator(size, 42).generateMaze();
+        MazeGenerator stepper = new MazeGenerator(size, 42);
+        Maze stepped = new Maze(size);
+        stepper.start(stepped);
+        assertTrue(stepped.isPath(1, 1));
+        assertFalse(stepper.isDone());
+
+        CellDeltas carved = new CellDeltas();
+        Maze replayed = new Maze(size);
+        replayed.setCell(1, 1, Maze.PATH);
+        int steps = 0;
+        while (!stepper.isDone()) {
+            carved.clear();
+            assertEquals(1, stepper.step(1, carved));
+            assertEquals(2, carved.size());
+            for (int i = 0; i < carved.size(); i++) {
+                assertFalse(replayed.isPath(carved.getX(i), carved.getY(i)));
+                replayed.setCell(carved.getX(i), carved.getY(i), Maze.PATH);
+            }
+            steps++;
+        }
+        assertEquals(vertices * vertices - 1, steps);
+        assertEquals(0, stepper.step(1, carved));
+        assertEquals(whole.toString(), stepped.toString());
+        assertEquals(whole.toString(), replayed.toString());
+    }
+
+    @Test
+    public void testStepwiseBatches() {
+        int size = Maze.MIN_SIZE * 5;
+        int vertices = (size - 1) / 2;
+        MazeGenerator stepper = new MazeGenerator(size, 7);
+        Maze stepped = new Maze(size);
+        stepper.start(stepped);
+        CellDeltas carved = new CellDeltas();
+        assertEquals(100, stepper.step(100, carved));
+        assertEquals(200, carved.size());
+        // the last batch is cut short when the maze is complete
+        assertEquals(vertices * vertices - 101, stepper.step(Integer.MAX_VALUE, null));
+        assertTrue(stepper.isDone());
+        assertEquals(new MazeGenerator(size, 7).generateMaze().toString(), stepped.toString());
+    }
+
     @Test
     public void testBlankGeneration() {
         ImmutableMaze maze = MazeGenerator.generateBlankMaze(Maze.MIN_SIZE);
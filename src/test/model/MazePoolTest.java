@@ -0,0 +1,87 @@
+package model;
+
+import model.generator.GeneratorType;
+import model.generator.MazePool;
+import model.maze.Maze;
+import model.maze.TrackedMaze;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MazePoolTest {
+
+    private static final int CAPACITY = 3;
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private MazePool pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = new MazePool(GeneratorType.DFS, CAPACITY, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testNoSize() {
+        assertEquals(0, pool.getSize());
+        assertEquals(0, pool.getReadyCount());
+    }
+
+    @Test
+    public void testFillsUp() throws InterruptedException {
+        pool.setSize(21);
+        awaitReady(CAPACITY);
+        TrackedMaze tracked = pool.take();
+        Maze maze = tracked.getMaze();
+        assertEquals(21, maze.getSize());
+        assertTrue(maze.isPath(1, 1));
+        // the indexes were built along with the maze, and follow it as it is edited
+        assertTrue(tracked.getConnectivity().isSolvable());
+        assertEquals(0, tracked.getDistances().getDistance(19, 19));
+        maze.setCell(19, 18, Maze.WALL);
+        maze.setCell(18, 19, Maze.WALL);
+        assertFalse(tracked.getConnectivity().isSolvable());
+        // taking a maze schedules its replacement
+        awaitReady(CAPACITY);
+    }
+
+    @Test
+    public void testSetSizeInvalidates() throws InterruptedException {
+        pool.setSize(21);
+        awaitReady(CAPACITY);
+        pool.setSize(21);
+        assertEquals(CAPACITY, pool.getReadyCount());
+        pool.setSize(31);
+        assertEquals(31, pool.getSize());
+        assertEquals(31, pool.take().getMaze().getSize());
+        awaitReady(CAPACITY);
+        for (int i = 0; i < 2 * CAPACITY; i++) {
+            assertEquals(31, pool.take().getMaze().getSize());
+        }
+    }
+
+    @Test
+    public void testTakeAfterClose() {
+        pool.setSize(21);
+        pool.close();
+        // nothing can be generated in the background any more, but take still produces mazes
+        for (int i = 0; i < 2 * CAPACITY; i++) {
+            assertEquals(21, pool.take().getMaze().getSize());
+        }
+    }
+
+    // EFFECTS: waits until count mazes are ready, failing if that takes longer than TIMEOUT_MILLIS
+    private void awaitReady(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (pool.getReadyCount() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for mazes");
+            Thread.sleep(5);
+        }
+    }
+}
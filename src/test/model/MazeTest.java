@@ -3,6 +3,7 @@ package model;
 import model.generator.MazeGenerator;
 import model.maze.ImmutableMaze;
 import model.maze.Maze;
+import model.moveable.Move;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -59,6 +60,62 @@ public class MazeTest {
         assertFalse(maze.isPath(2, 1));
     }
 
+    @Test
+    public void testRowWord() {
+        // use a maze that is wide enough to span several words so the word boundaries are exercised
+        Maze wideMaze = new Maze(2 * ImmutableMaze.WORD_LENGTH + 3);
+        assertEquals(3, wideMaze.getRowWordCount());
+        wideMaze.setCell(1, 1, Maze.PATH);
+        wideMaze.setCell(ImmutableMaze.WORD_LENGTH - 1, 1, Maze.PATH);
+        wideMaze.setCell(ImmutableMaze.WORD_LENGTH, 1, Maze.PATH);
+        wideMaze.setCell(2 * ImmutableMaze.WORD_LENGTH + 1, 1, Maze.PATH);
+
+        assertEquals(2L | Long.MIN_VALUE, wideMaze.getRowWord(1, 0));
+        assertEquals(1L, wideMaze.getRowWord(1, 1));
+        assertEquals(2L, wideMaze.getRowWord(1, 2));
+        assertEquals(0L, wideMaze.getRowWord(2, 0));
+
+        // the encoding constructor must produce the same words
+        Maze copy = new Maze(wideMaze.getSize(), wideMaze.toString());
+        for (int word = 0; word < 3; word++) {
+            assertEquals(wideMaze.getRowWord(1, word), copy.getRowWord(1, word));
+        }
+    }
+
+    @Test
+    public void testIndex() {
+        int index = maze.getIndex(3, 2);
+        assertEquals(2 * SIZE + 3, index);
+        assertEquals(3, maze.getX(index));
+        assertEquals(2, maze.getY(index));
+        assertEquals(index - SIZE, index + maze.getIndexOffset(Move.UP));
+        assertEquals(index + 1, index + maze.getIndexOffset(Move.RIGHT));
+
+        maze.setCell(3, 2, Maze.PATH);
+        assertTrue(maze.isPath(index));
+        assertFalse(maze.isPath(index + 1));
+    }
+
+    @Test
+    public void testOpenDirections() {
+        maze.setCell(2, 2, Maze.PATH);
+        maze.setCell(2, 1, Maze.PATH);
+        maze.setCell(3, 2, Maze.PATH);
+        int center = maze.getIndex(2, 2);
+        assertEquals(Move.UP.getMask() | Move.RIGHT.getMask(), maze.getOpenDirections(center));
+        assertEquals(Move.UP.getMask() | Move.RIGHT.getMask(), maze.getOpenDirections(2, 2));
+
+        // the cache must agree with the computed masks, before and after edits
+        maze.setOpenDirectionsCached(true);
+        assertEquals(Move.UP.getMask() | Move.RIGHT.getMask(), maze.getOpenDirections(center));
+        maze.setCell(2, 1, Maze.WALL);
+        maze.setCell(2, 3, Maze.PATH);
+        assertEquals(Move.DOWN.getMask() | Move.RIGHT.getMask(), maze.getOpenDirections(center));
+        assertEquals(Move.DOWN.getMask() | Move.RIGHT.getMask(), maze.getOpenDirections(2, 2));
+        assertEquals(Move.LEFT.getMask(), maze.getOpenDirections(maze.getIndex(3, 2)));
+        assertEquals(0, maze.getOpenDirections(maze.getIndex(0, 0)));
+    }
+
     @Test
     public void testFloorOdd() {
         assertEquals(3, Maze.floorOdd(3.2));
@@ -0,0 +1,65 @@
+package model;
+
+import model.solver.AStar;
+import model.sweep.ParameterSweep;
+import model.sweep.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterSweepTest {
+
+    @Test
+    public void testRange() {
+        double[] values = ParameterSweep.range(0, 1, 101);
+        assertEquals(101, values.length);
+        assertEquals(0, values[0]);
+        assertEquals(0.07, values[7]);
+        assertEquals(1, values[100]);
+    }
+
+    @Test
+    public void testStatistics() {
+        Statistics stats = new Statistics(new double[]{5, 1, 4, 2, 3});
+        assertEquals(5, stats.getCount());
+        assertEquals(3, stats.getMean());
+        assertEquals(Math.sqrt(2.5), stats.getStandardDeviation(), 1e-12);
+        assertEquals(1, stats.getMin());
+        assertEquals(5, stats.getMax());
+        assertEquals(3, stats.getPercentile(50));
+        assertEquals(5, stats.getPercentile(90));
+        assertEquals(1, stats.getPercentile(0));
+        assertEquals(1.959963984540054 * Math.sqrt(2.5) / Math.sqrt(5), stats.getConfidenceInterval95(), 1e-12);
+    }
+
+    @Test
+    public void testSweepIsDeterministic() {
+        double[] weights = {0, 0.5, 1};
+        ParameterSweep sweep = new ParameterSweep(21, 20, 7, weights, (maze, c) -> new AStar(maze, c));
+        ForkJoinPool wide = new ForkJoinPool(4);
+        ForkJoinPool narrow = new ForkJoinPool(1);
+        List<ParameterSweep.Result> first;
+        List<ParameterSweep.Result> second;
+        try {
+            first = sweep.run(wide);
+            second = sweep.run(narrow);
+        } finally {
+            wide.shutdown();
+            narrow.shutdown();
+        }
+
+        assertEquals(3, first.size());
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i], first.get(i).getParameter());
+            assertEquals(20, first.get(i).getTicks().getCount());
+            assertEquals(first.get(i).getTicks().getMean(), second.get(i).getTicks().getMean());
+            assertEquals(first.get(i).getNodesExpanded().getMean(), second.get(i).getNodesExpanded().getMean());
+            // every tick but the last (which reaches the goal) expands a node
+            assertEquals(first.get(i).getTicks().getMean() - 1, first.get(i).getNodesExpanded().getMean(), 1e-9);
+            assertTrue(first.get(i).getNanos().getMin() > 0);
+        }
+    }
+}
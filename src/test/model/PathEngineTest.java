@@ -71,4 +71,42 @@ public class PathEngineTest {
         }
     }
 
+    @Test
+    public void testIncrementalSamePath() {
+        // the same path object is added after each change, the way an animated solver does
+        Path path = new Path();
+        path.addNode(Move.DOWN);
+        path.addNode(Move.DOWN);
+        engine.addPath(path);
+        assertEquals(3, engine.getPlaced().size());
+
+        // extend by one: only the new tail and the old tail (whose successor changed) are painted
+        path.addNode(Move.RIGHT);
+        engine.addPath(path);
+        assertTrue(engine.getToWipe().isEmpty());
+        assertEquals(2, engine.getToPlace().size());
+        assertEquals(new PathNode(2, 3, Move.RIGHT), engine.getToPlace().get(0));
+        assertEquals(new Position(1, 3), engine.getToPlace().get(1));
+
+        // backtrack two nodes and take a different branch
+        path.removeTail();
+        path.removeTail();
+        path.addNode(Move.RIGHT);
+        engine.addPath(path);
+        List<PathNode> toWipe = engine.getToWipe();
+        assertEquals(2, toWipe.size());
+        assertEquals(new Position(2, 3), toWipe.get(0));
+        assertEquals(new Position(1, 3), toWipe.get(1));
+        assertEquals(2, engine.getToPlace().size());
+        assertEquals(new Position(2, 2), engine.getToPlace().get(0));
+        assertEquals(new Position(1, 2), engine.getToPlace().get(1));
+
+        // nothing changed: only the tail is repainted
+        engine.addPath(path);
+        assertTrue(engine.getToWipe().isEmpty());
+        assertEquals(1, engine.getToPlace().size());
+        assertEquals(3, engine.getPlaced().size());
+        assertEquals(path.getNodes(), engine.getPlaced());
+    }
+
 }
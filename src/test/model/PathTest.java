@@ -315,4 +315,29 @@ public class PathTest {
         assertTrue(path.subtract(path.getNodes(), false).isEmpty());
     }
 
+    @Test
+    public void testRemoveTail() {
+        // (1, 2) is visited twice, so removing the second visit must leave it on the path
+        path.addNode(Move.DOWN);
+        path.addNode(Move.RIGHT);
+        path.addNode(Move.LEFT);
+        assertEquals(4, path.getLength());
+
+        path.removeTail();
+        assertEquals(3, path.getLength());
+        assertEquals(new PathNode(2, 2, Move.RIGHT), path.getTail());
+        assertTrue(path.containsNode(1, 2));
+        assertEquals(Move.DOWN, path.getNode(1, 2).getDirection());
+
+        path.removeTail();
+        path.removeTail();
+        assertEquals(1, path.getLength());
+        assertFalse(path.containsNode(1, 2));
+        assertFalse(path.containsNode(2, 2));
+        // removed nodes remain visited
+        assertTrue(path.visitedNode(new Position(2, 2)));
+        assertEquals(-1, path.getNodes().indexOf(new Position(1, 2)));
+        assertEquals(0, path.getNodes().indexOf(new Position(1, 1)));
+    }
+
 }
@@ -1,6 +1,7 @@
 package model;
 
 import model.generator.MazeGenerator;
+import model.maze.CostLayer;
 import model.maze.ImmutableMaze;
 import model.maze.Maze;
 import model.moveable.Move;
@@ -42,4 +43,22 @@ public class PlayerTest {
         assertFalse(player.getPosition().equals(1, 1));
     }
 
+    @Test
+    public void testTravelCost() {
+        Move next = maze.isPath(1, 2) ? Move.DOWN : Move.RIGHT;
+        player.tryMove(next);
+        assertEquals(CostLayer.MIN_COST, player.getTravelCost());
+
+        CostLayer costs = new CostLayer(Maze.MIN_SIZE);
+        costs.setCost(1 + next.getDeltaX(), 1 + next.getDeltaY(), 9);
+        costs.setCost(1, 1, 4);
+        Player walker = new Player(maze, costs);
+        // running into a wall costs nothing
+        walker.tryMove(Move.UP);
+        assertEquals(0, walker.getTravelCost());
+        walker.tryMove(next);
+        walker.tryMove(next.getOpposite());
+        assertEquals(13, walker.getTravelCost());
+    }
+
 }
@@ -0,0 +1,63 @@
+package model;
+
+import model.path.PositionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionIndexTest {
+
+    private PositionIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new PositionIndex();
+    }
+
+    @Test
+    public void testPutGet() {
+        assertEquals(PositionIndex.ABSENT, index.get(1, 1));
+        index.put(1, 1, 5);
+        index.put(1, 2, 6);
+        assertEquals(5, index.get(1, 1));
+        assertEquals(6, index.get(1, 2));
+        assertEquals(PositionIndex.ABSENT, index.get(2, 1));
+
+        // replace
+        index.put(1, 1, 7);
+        assertEquals(7, index.get(1, 1));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testGrowAndRemove() {
+        // enough positions to force several resizes and long probe sequences
+        for (int x = 0; x < 100; x++) {
+            for (int y = 0; y < 100; y++) {
+                index.put(x, y, x * 100 + y);
+            }
+        }
+        assertEquals(10000, index.size());
+
+        // remove every other position; the rest must still be found
+        for (int x = 0; x < 100; x++) {
+            for (int y = x % 2; y < 100; y += 2) {
+                index.remove(x, y);
+            }
+        }
+        assertEquals(5000, index.size());
+        for (int x = 0; x < 100; x++) {
+            for (int y = 0; y < 100; y++) {
+                assertEquals((x + y) % 2 == 1, index.contains(x, y));
+                assertEquals((x + y) % 2 == 1 ? x * 100 + y : PositionIndex.ABSENT, index.get(x, y));
+            }
+        }
+
+        index.remove(500, 500);
+        assertEquals(5000, index.size());
+        index.clear();
+        assertEquals(0, index.size());
+        assertFalse(index.contains(0, 1));
+    }
+}
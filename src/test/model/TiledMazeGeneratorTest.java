@@ -0,0 +1,109 @@
+package model;
+
+import model.generator.TiledMazeGenerator;
+import model.maze.Maze;
+import model.path.Path;
+import model.solver.AStar;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TiledMazeGeneratorTest {
+
+    // 50 vertices per side, so the tiles on the east and south borders are cut short
+    private static final int SIZE = 101;
+    private static final int TILE_SIZE = 16;
+    private static final int VERTICES = (SIZE - 1) / 2;
+
+    private ForkJoinPool pool;
+    private Maze maze;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ForkJoinPool(4);
+        maze = new TiledMazeGenerator(SIZE, 7, TILE_SIZE, pool).generateMaze();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testUntouchedSurroundings() {
+        for (int i = 0; i < SIZE; i++) {
+            assertFalse(maze.isPath(i, 0));
+            assertFalse(maze.isPath(0, i));
+            assertFalse(maze.isPath(i, SIZE - 1));
+            assertFalse(maze.isPath(SIZE - 1, i));
+        }
+    }
+
+    @Test
+    public void testPerfectMaze() {
+        // a graph of V vertices is a tree iff it is connected and has V - 1 edges
+        int paths = 0;
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                paths += maze.isPath(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(VERTICES * VERTICES - 1, paths - VERTICES * VERTICES);
+        assertEquals(paths, countReachable());
+    }
+
+    @Test
+    public void testSolvable() {
+        AStar solver = new AStar(maze);
+        for (Path ignored : solver) {
+            // run the solver to completion
+        }
+        assertNotNull(solver.getPath());
+    }
+
+    @Test
+    public void testDeterministic() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            Maze other = new TiledMazeGenerator(SIZE, 7, TILE_SIZE, single).generateMaze();
+            assertEquals(maze.toString(), other.toString());
+            Maze reseeded = new TiledMazeGenerator(SIZE, 8, TILE_SIZE, single).generateMaze();
+            assertNotEquals(maze.toString(), reseeded.toString());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleTile() {
+        Maze small = new TiledMazeGenerator(Maze.MIN_SIZE, 3, pool).generateMaze();
+        assertTrue(small.isPath(1, 1));
+        assertTrue(small.isPath(Maze.MIN_SIZE - 2, Maze.MIN_SIZE - 2));
+    }
+
+    // EFFECTS: produces the number of path cells reachable from (1, 1)
+    private int countReachable() {
+        boolean[] seen = new boolean[SIZE * SIZE];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(SIZE + 1);
+        seen[SIZE + 1] = true;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            count++;
+            for (int next : new int[]{cell - 1, cell + 1, cell - SIZE, cell + SIZE}) {
+                if (!seen[next] && maze.isPath(next % SIZE, next / SIZE)) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import model.generator.MazeGenerator;
+import model.maze.Maze;
+import model.path.TreePathIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreePathIndexTest {
+
+    // wide enough for paths hundreds of moves long, so that the jumps are exercised
+    private static final int SIZE = 41;
+
+    private Maze maze;
+    private TreePathIndex index;
+
+    @BeforeEach
+    public void setup() {
+        maze = new MazeGenerator(SIZE, 13).generateMaze();
+        index = new TreePathIndex(maze);
+    }
+
+    @Test
+    public void testStartToGoal() {
+        int[] distances = distancesFrom(maze.getIndex(1, 1));
+        int goal = maze.getIndex(SIZE - 2, SIZE - 2);
+        assertEquals(distances[goal], index.getDistance(1, 1, SIZE - 2, SIZE - 2));
+        assertEquals(distances[goal], index.getDistance(SIZE - 2, SIZE - 2, 1, 1));
+        assertEquals(0, index.getDistance(5, 5, 5, 5));
+        assertArrayEquals(new int[]{maze.getIndex(5, 5)}, index.getPath(5, 5, 5, 5));
+    }
+
+    @Test
+    public void testRandomPairs() {
+        int[] cells = pathCells();
+        Random random = new Random(2);
+        for (int i = 0; i < 20; i++) {
+            int from = cells[random.nextInt(cells.length)];
+            int[] distances = distancesFrom(from);
+            for (int j = 0; j < 50; j++) {
+                int to = cells[random.nextInt(cells.length)];
+                int x1 = maze.getX(from);
+                int y1 = maze.getY(from);
+                int x2 = maze.getX(to);
+                int y2 = maze.getY(to);
+                assertEquals(distances[to], index.getDistance(x1, y1, x2, y2));
+                assertPath(index.getPath(x1, y1, x2, y2), from, to, distances[to]);
+            }
+        }
+    }
+
+    @Test
+    public void testLowestCommonAncestor() {
+        int start = maze.getIndex(1, 1);
+        int goal = maze.getIndex(SIZE - 2, SIZE - 2);
+        assertEquals(start, index.lowestCommonAncestor(start, goal));
+        assertEquals(goal, index.lowestCommonAncestor(goal, goal));
+    }
+
+    @Test
+    public void testNotPerfect() {
+        assertThrows(IllegalArgumentException.class, () -> new TreePathIndex(MazeGenerator.generateBlankMaze(SIZE)));
+        // a maze with a cell that cannot be reached
+        Maze split = new Maze(Maze.MIN_SIZE);
+        split.setCell(1, 1, Maze.PATH);
+        split.setCell(5, 5, Maze.PATH);
+        assertThrows(IllegalArgumentException.class, () -> new TreePathIndex(split));
+    }
+
+    // EFFECTS: fails unless path runs from cell from to cell to in distance moves between neighbouring PATH cells
+    private void assertPath(int[] path, int from, int to, int distance) {
+        assertEquals(distance + 1, path.length);
+        assertEquals(from, path[0]);
+        assertEquals(to, path[path.length - 1]);
+        for (int i = 1; i < path.length; i++) {
+            assertTrue(maze.isPath(path[i]));
+            int step = Math.abs(path[i] - path[i - 1]);
+            assertTrue(step == 1 || step == SIZE);
+        }
+    }
+
+    // EFFECTS: produces the linear indices of every PATH cell of maze
+    private int[] pathCells() {
+        int[] cells = new int[SIZE * SIZE];
+        int count = 0;
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            if (maze.isPath(cell)) {
+                cells[count++] = cell;
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    // EFFECTS: produces the distance from start to every cell of maze found by breadth-first search
+    private int[] distancesFrom(int start) {
+        int[] distances = new int[SIZE * SIZE];
+        Arrays.fill(distances, -1);
+        distances[start] = 0;
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int next : new int[]{cell - 1, cell + 1, cell - SIZE, cell + SIZE}) {
+                if (distances[next] == -1 && maze.isPath(next)) {
+                    distances[next] = distances[cell] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -1,6 +1,10 @@
 package model.solvers;
 
+import model.maze.ImmutableMaze;
 import model.solver.AStar;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class AStarTest extends MazeSolverTest {
 
@@ -8,4 +12,13 @@ public class AStarTest extends MazeSolverTest {
     public void init() {
         solver = new AStar(super.maze);
     }
+
+    @Test
+    public void testTooLargeToIndex() {
+        // the last cell of this maze has an index past Integer.MAX_VALUE, so both indexing it and building a solver
+        // over it must fail up front instead of overflowing
+        ImmutableMaze large = unindexableMaze();
+        assertThrows(IllegalArgumentException.class, () -> large.getIndex(large.getSize() - 1, large.getSize() - 1));
+        assertThrows(IllegalArgumentException.class, () -> new AStar(large));
+    }
 }
@@ -1,6 +1,11 @@
 package model.solvers;
 
+import model.maze.Maze;
 import model.solver.backtracker.Backtracker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class BacktrackerTest extends MazeSolverTest {
 
@@ -8,4 +13,39 @@ public class BacktrackerTest extends MazeSolverTest {
         solver = new Backtracker(super.maze);
     }
 
+    @Test
+    public void testUnsolvable() {
+        // carve a corridor from the start that never reaches the goal; once every path has been tried, the solver must
+        // finish with no path instead of looping forever
+        for (int x = 1; x < Maze.MIN_SIZE - 1; x++) {
+            maze.setCell(x, 1, Maze.PATH);
+        }
+        maze.setCell(Maze.MIN_SIZE - 2, Maze.MIN_SIZE - 2, Maze.PATH);
+        tickSolver(50);
+        assertNull(solver.getPath());
+    }
+
+    @Test
+    public void testUnsolvableWithLoops() {
+        // an open room has exponentially many simple paths; with the goal walled off, the search must still give up
+        // after entering each cell once rather than trying every one of them
+        int size = 41;
+        maze = new Maze(size);
+        for (int y = 1; y < size - 1; y++) {
+            for (int x = 1; x < size - 1; x++) {
+                maze.setCell(x, y, Maze.PATH);
+            }
+        }
+        maze.setCell(size - 3, size - 2, Maze.WALL);
+        maze.setCell(size - 2, size - 3, Maze.WALL);
+        solver = new Backtracker(maze);
+        tickSolver((size - 2) * (size - 2));
+        assertNull(solver.getPath());
+    }
+
+    @Test
+    public void testTooLargeToIndex() {
+        assertThrows(IllegalArgumentException.class, () -> new Backtracker(unindexableMaze()));
+    }
+
 }
@@ -0,0 +1,125 @@
+package model.solvers;
+
+import model.generator.GeneratorType;
+import model.maze.CostLayer;
+import model.maze.Maze;
+import model.path.Path;
+import model.path.Position;
+import model.solver.AStar;
+import model.solver.DialSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DialSolverTest extends MazeSolverTest {
+
+    private static final int SIZE = 41;
+
+    @Override
+    public void init() {
+        solver = new DialSolver(super.maze);
+    }
+
+    @Test
+    public void testCostLayer() {
+        CostLayer costs = new CostLayer(SIZE);
+        assertEquals(SIZE, costs.getSize());
+        assertEquals(CostLayer.MIN_COST, costs.getCost(3, 4));
+        assertEquals(CostLayer.MIN_COST, costs.getMaxCost());
+        costs.setCost(3, 4, CostLayer.MAX_COST);
+        costs.setCost(5, 6, 7);
+        assertEquals(CostLayer.MAX_COST, costs.getCost(new Position(3, 4)));
+        assertEquals(7, costs.getCost(6 * SIZE + 5));
+        costs.setCost(3, 4, 2);
+        assertEquals(2, costs.getCost(3, 4));
+        assertEquals(CostLayer.MAX_COST, costs.getMaxCost());
+    }
+
+    @Test
+    public void testUniformCosts() {
+        // without terrain the cheapest path is a shortest one
+        Maze generated = GeneratorType.KRUSKAL.create(SIZE, 4).generateMaze(SIZE);
+        // open up some loops, so that there is more than one way to the goal
+        for (int y = 2; y < SIZE - 2; y += 6) {
+            for (int x = 2; x < SIZE - 2; x += 6) {
+                generated.setCell(x, y, Maze.PATH);
+            }
+        }
+        DialSolver dial = new DialSolver(generated);
+        Path cheapest = solve(dial);
+        assertEquals(solve(new AStar(generated)).getLength(), cheapest.getLength());
+        assertEquals(cheapest.getLength() - 1, dial.getPathCost());
+    }
+
+    @Test
+    public void testTerrain() {
+        Random random = new Random(12);
+        for (int trial = 0; trial < 5; trial++) {
+            Maze blank = GeneratorType.PRIM.create(SIZE, trial).generateMaze(SIZE);
+            for (int i = 0; i < SIZE * SIZE / 4; i++) {
+                blank.setCell(1 + random.nextInt(SIZE - 2), 1 + random.nextInt(SIZE - 2), Maze.PATH);
+            }
+            CostLayer costs = new CostLayer(SIZE);
+            for (int y = 1; y < SIZE - 1; y++) {
+                for (int x = 1; x < SIZE - 1; x++) {
+                    costs.setCost(x, y, 1 + random.nextInt(trial == 0 ? 3 : CostLayer.MAX_COST));
+                }
+            }
+            DialSolver dial = new DialSolver(blank, costs);
+            Path cheapest = solve(dial);
+            assertEquals(cheapestCost(blank, costs), dial.getPathCost());
+            assertEquals(dial.getPathCost(), costOf(cheapest, costs));
+        }
+    }
+
+    @Test
+    public void testUnsolvable() {
+        for (int x = 1; x < Maze.MIN_SIZE - 1; x++) {
+            maze.setCell(x, 1, Maze.PATH);
+        }
+        maze.setCell(Maze.MIN_SIZE - 2, Maze.MIN_SIZE - 2, Maze.PATH);
+        tickSolver(50);
+        assertNull(solver.getPath());
+        assertEquals(Integer.MAX_VALUE, ((DialSolver) solver).getPathCost());
+    }
+
+    // EFFECTS: produces the sum of the costs of the cells that path moves onto
+    private static int costOf(Path path, CostLayer costs) {
+        int total = 0;
+        boolean first = true;
+        for (Position pos : path) {
+            total += first ? 0 : costs.getCost(pos);
+            first = false;
+        }
+        return total;
+    }
+
+    // EFFECTS: produces the cost of the cheapest path from (1, 1) to the goal of maze, found by Dijkstra's algorithm
+    //          with a comparison heap
+    private static int cheapestCost(Maze maze, CostLayer costs) {
+        int size = maze.getSize();
+        int[] cost = new int[size * size];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        cost[size + 1] = 0;
+        queue.add(new long[]{0, size + 1});
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int cell = (int) entry[1];
+            if (entry[0] > cost[cell]) {
+                continue;
+            }
+            for (int next : new int[]{cell - 1, cell + 1, cell - size, cell + size}) {
+                if (maze.isPath(next) && cost[cell] + costs.getCost(next) < cost[next]) {
+                    cost[next] = cost[cell] + costs.getCost(next);
+                    queue.add(new long[]{cost[next], next});
+                }
+            }
+        }
+        return cost[size * size - size - 2];
+    }
+}
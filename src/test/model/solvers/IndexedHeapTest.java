@@ -0,0 +1,80 @@
+package model.solvers;
+
+import model.solver.IndexedHeap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedHeapTest {
+
+    private IndexedHeap heap;
+
+    @BeforeEach
+    public void setup() {
+        heap = new IndexedHeap(10);
+    }
+
+    @Test
+    public void testPushPoll() {
+        assertTrue(heap.isEmpty());
+        heap.push(3, 5, 0);
+        heap.push(7, 1, 0);
+        heap.push(1, 3, 0);
+        heap.push(9, 4, 0);
+        assertEquals(4, heap.size());
+        assertTrue(heap.contains(9));
+        assertFalse(heap.contains(2));
+
+        assertEquals(7, heap.peek());
+        assertEquals(1, heap.peekPrimary());
+        assertEquals(7, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(9, heap.poll());
+        assertEquals(3, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+    }
+
+    @Test
+    public void testSecondaryKey() {
+        heap.push(0, 2, 9);
+        heap.push(1, 2, 4);
+        heap.push(2, 2, 6);
+        assertEquals(1, heap.poll());
+        assertEquals(2, heap.poll());
+        assertEquals(0, heap.poll());
+    }
+
+    @Test
+    public void testUpdateKeys() {
+        for (int i = 0; i < 10; i++) {
+            heap.push(i, 10 + i, 0);
+        }
+        // decrease-key moves an item up, increasing a key moves it down
+        heap.push(8, 1, 0);
+        heap.push(0, 100, 0);
+        assertEquals(10, heap.size());
+        assertEquals(8, heap.poll());
+        assertEquals(1, heap.poll());
+    }
+
+    @Test
+    public void testRemoveClear() {
+        for (int i = 0; i < 10; i++) {
+            heap.push(i, i, 0);
+        }
+        heap.remove(0);
+        heap.remove(5);
+        heap.remove(5);
+        assertEquals(8, heap.size());
+        assertFalse(heap.contains(5));
+        assertEquals(1, heap.poll());
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(9));
+        heap.push(9, 0, 0);
+        assertEquals(9, heap.poll());
+    }
+}
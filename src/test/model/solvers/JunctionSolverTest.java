@@ -0,0 +1,66 @@
+package model.solvers;
+
+import model.generator.GeneratorType;
+import model.maze.Maze;
+import model.path.Path;
+import model.solver.AStar;
+import model.solver.JunctionGraph;
+import model.solver.JunctionSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JunctionSolverTest extends MazeSolverTest {
+
+    @Override
+    public void init() {
+        solver = new JunctionSolver(super.maze);
+    }
+
+    @Test
+    public void testGeneratedMazes() {
+        // the contracted graph is much smaller than the maze, and the path found is as short as the one A* finds
+        for (GeneratorType type : new GeneratorType[]{GeneratorType.DFS, GeneratorType.KRUSKAL}) {
+            Maze generated = type.create(101, 3).generateMaze(101);
+            JunctionSolver junctions = new JunctionSolver(generated);
+            AStar astar = new AStar(generated);
+            Path solution = solve(junctions);
+            assertEquals(solve(astar).getLength(), solution.getLength(), type.toString());
+            assertEquals(new Path().getTail(), solution.getNodes().get(0));
+            assertEquals(generated.getIndex(99, 99), generated.getIndex(solution.getTail().getPosX(),
+                    solution.getTail().getPosY()));
+            assertTrue(junctions.getNodesExpanded() < astar.getNodesExpanded(), type.toString());
+        }
+    }
+
+    @Test
+    public void testGraph() {
+        Maze generated = GeneratorType.DFS.create(101, 3).generateMaze(101);
+        JunctionGraph graph = new JunctionGraph(generated);
+        int cells = 0;
+        int moves = 0;
+        for (int cell = 0; cell < 101 * 101; cell++) {
+            cells += generated.isPath(cell) ? 1 : 0;
+        }
+        for (int edge = 0; edge < graph.getEdgeCount(); edge++) {
+            moves += graph.getWeight(edge);
+        }
+        // a perfect maze is a tree, so every corridor is stored from both ends, and they cover every move between
+        // neighbouring cells twice
+        assertEquals(2 * (cells - 1), moves);
+        assertEquals(2 * (graph.getNodeCount() - 1), graph.getEdgeCount());
+        assertTrue(graph.getNodeCount() * 5 < cells);
+        assertEquals(JunctionGraph.NONE, graph.getNode(0));
+        assertEquals(generated.getIndex(1, 1), graph.getCell(graph.getNode(generated.getIndex(1, 1))));
+    }
+
+    @Test
+    public void testUnsolvable() {
+        for (int x = 1; x < Maze.MIN_SIZE - 1; x++) {
+            maze.setCell(x, 1, Maze.PATH);
+        }
+        maze.setCell(Maze.MIN_SIZE - 2, Maze.MIN_SIZE - 2, Maze.PATH);
+        tickSolver(50);
+        assertNull(solver.getPath());
+    }
+}
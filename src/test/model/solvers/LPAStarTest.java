@@ -0,0 +1,109 @@
+package model.solvers;
+
+import model.generator.GeneratorType;
+import model.maze.Maze;
+import model.path.Path;
+import model.path.Position;
+import model.solver.AStar;
+import model.solver.LPAStar;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LPAStarTest extends MazeSolverTest {
+
+    private static final int SIZE = 61;
+
+    @Override
+    public void init() {
+        solver = new LPAStar(super.maze);
+    }
+
+    @Test
+    public void testSolveAgainWithoutChanges() {
+        Maze generated = GeneratorType.DFS.create(SIZE, 1).generateMaze(SIZE);
+        LPAStar lpa = new LPAStar(generated);
+        lpa.attach();
+        Path first = solve(lpa);
+        assertTrue(lpa.getNodesExpanded() > 0);
+        // nothing changed, so there is nothing to repair
+        assertFalse(lpa.iterator().hasNext());
+        assertEquals(first, lpa.getPath());
+        assertEquals(0, lpa.getNodesExpanded());
+    }
+
+    @Test
+    public void testRepairsAfterEdits() {
+        Maze generated = GeneratorType.KRUSKAL.create(SIZE, 2).generateMaze(SIZE);
+        LPAStar lpa = new LPAStar(generated);
+        lpa.attach();
+        solve(lpa);
+        int fromScratch = lpa.getNodesExpanded();
+        Random random = new Random(6);
+        for (int i = 0; i < 100; i++) {
+            int x = 1 + random.nextInt(SIZE - 2);
+            int y = 1 + random.nextInt(SIZE - 2);
+            if (!new Position(x, y).equals(1, 1) && !new Position(x, y).equals(SIZE - 2, SIZE - 2)) {
+                generated.setCell(x, y, !generated.isPath(x, y));
+            }
+            Path expected = solve(new AStar(generated));
+            Path repaired = solve(lpa);
+            if (expected == null) {
+                assertNull(repaired);
+            } else {
+                assertEquals(expected.getLength(), repaired.getLength());
+                assertValidPath(generated, repaired);
+            }
+        }
+        // a single edit near the start is repaired in fewer ticks than solving from scratch
+        generated.setCell(2, 1, !generated.isPath(2, 1));
+        solve(lpa);
+        assertTrue(lpa.getNodesExpanded() < fromScratch);
+    }
+
+    @Test
+    public void testDetach() {
+        Maze generated = GeneratorType.DFS.create(SIZE, 1).generateMaze(SIZE);
+        LPAStar lpa = new LPAStar(generated);
+        lpa.attach();
+        solve(lpa);
+        int fromScratch = lpa.getNodesExpanded();
+        lpa.detach();
+        solve(lpa);
+        assertEquals(fromScratch, lpa.getNodesExpanded());
+    }
+
+    @Test
+    public void testUnattached() {
+        // a solver that was never attached does not listen to the maze, so it starts from scratch every solve, and an
+        // edit cannot reach it
+        Maze generated = GeneratorType.DFS.create(SIZE, 1).generateMaze(SIZE);
+        LPAStar lpa = new LPAStar(generated);
+        Path first = solve(lpa);
+        int fromScratch = lpa.getNodesExpanded();
+        assertEquals(first, solve(lpa));
+        assertEquals(fromScratch, lpa.getNodesExpanded());
+        // opening a wall can only shorten the way to the goal
+        int x = 2;
+        while (generated.isPath(x, 1)) {
+            x += 2;
+        }
+        generated.setCell(x, 1, Maze.PATH);
+        assertEquals(solve(new AStar(generated)).getLength(), solve(lpa).getLength());
+    }
+
+    // EFFECTS: fails unless every step of path is onto a neighbouring PATH cell
+    private static void assertValidPath(Maze maze, Path path) {
+        Position previous = null;
+        for (Position pos : path) {
+            assertTrue(maze.isPath(pos));
+            if (previous != null) {
+                assertEquals(1, Math.abs(pos.getPosX() - previous.getPosX())
+                        + Math.abs(pos.getPosY() - previous.getPosY()));
+            }
+            previous = pos;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package model.solvers;
 
+import model.maze.ImmutableMaze;
 import model.maze.Maze;
 import model.path.Path;
+import model.path.Position;
 import model.solver.MazeSolver;
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -135,6 +138,14 @@ public abstract class MazeSolverTest {
         assertEquals(9, solver.getPath().getLength());
     }
 
+    // EFFECTS: runs solver to completion and produces the path it found
+    protected static Path solve(MazeSolver solver) {
+        for (Path ignored : solver) {
+            // run the solver to completion
+        }
+        return solver.getPath();
+    }
+
     // tick solver n times or until completion, whichever comes first
     protected void tickSolver(int n) {
         Iterator<Path> iterator = solver.iterator();
@@ -149,4 +160,30 @@ public abstract class MazeSolverTest {
         }
     }
 
+    // EFFECTS: produce an all-WALL maze one cell wider than the largest that has linear indices; it stores no cells, so
+    //          solvers can be pointed at it without allocating a maze that large
+    protected static ImmutableMaze unindexableMaze() {
+        return new ImmutableMaze() {
+            @Override
+            public int getSize() {
+                return MAX_INDEXED_SIZE + 1;
+            }
+
+            @Override
+            public boolean isPath(int x, int y) {
+                return false;
+            }
+
+            @Override
+            public boolean isPath(Position pos) {
+                return false;
+            }
+
+            @Override
+            public JSONObject toJson() {
+                return new JSONObject();
+            }
+        };
+    }
+
 }